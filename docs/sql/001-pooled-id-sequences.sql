@@ -0,0 +1,16 @@
+-- Migración de ids IDENTITY a secuencias con asignación por bloques (allocationSize = 50).
+-- Ejecutar en PostgreSQL antes de desplegar la versión que usa las secuencias; con
+-- ddl-auto=update Hibernate las crearía empezando en 1 y chocaría con los ids existentes.
+--
+-- Hibernate toma el valor de la secuencia como límite superior del bloque (optimizador
+-- "pooled"), por eso el primer valor queda en MAX(id) + 50: el bloque arranca en MAX(id) + 1.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS conversations_seq INCREMENT BY 50;
+SELECT setval('conversations_seq', COALESCE((SELECT MAX(id) FROM conversations), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS messages_seq INCREMENT BY 50;
+SELECT setval('messages_seq', COALESCE((SELECT MAX(id) FROM messages), 0) + 50, false);
+
+COMMIT;
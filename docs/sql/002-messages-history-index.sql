@@ -0,0 +1,9 @@
+-- Índice para la paginación por cursor del historial (GET /api/conversations/{sessionId}).
+-- Cubre el filtro por conversación y el orden (timestamp, id), así cada página es un
+-- recorrido de rango en el índice sin ordenar en memoria. El contenido (TEXT) se sigue
+-- leyendo de la tabla.
+--
+-- CONCURRENTLY no puede correr dentro de una transacción: ejecutar esta sentencia sola.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_messages_conversation_timestamp
+    ON messages (conversation_id, timestamp, id);
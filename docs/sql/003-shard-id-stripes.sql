@@ -0,0 +1,15 @@
+-- Secuencias intercaladas por shard (app.sharding). Ejecutar en cada shard antes de
+-- habilitar el sharding, reemplazando :shard por su índice (0, 1, 2...) y :base por el
+-- mismo valor en todos: el MAX(id) global de conversaciones y mensajes, redondeado hacia
+-- arriba a un múltiplo de 50 * 64 (allocationSize * app.sharding.id-stripes).
+--
+-- Con el optimizador "pooled" cada valor de la secuencia cierra un bloque de 50 ids. El
+-- shard i toma los bloques i, i + 64, i + 128... a partir de :base, así ningún id se
+-- repite entre shards y el rebalanceo puede copiar filas conservando sus ids.
+
+BEGIN;
+
+ALTER SEQUENCE conversations_seq RESTART WITH :base + 50 * (:shard + 1) INCREMENT BY 3200;
+ALTER SEQUENCE messages_seq RESTART WITH :base + 50 * (:shard + 1) INCREMENT BY 3200;
+
+COMMIT;
@@ -0,0 +1,56 @@
+-- Convierte messages en una tabla particionada por mes (rango de timestamp) y crea la
+-- tabla de archivo. Ejecutar en PostgreSQL 14+ (en cada shard si se usa app.sharding) con
+-- la aplicación detenida, y después habilitar app.retention.partitioned-messages.
+--
+-- La clave primaria de una tabla particionada debe incluir la columna de partición, por
+-- eso pasa a ser (id, timestamp); los ids siguen saliendo de messages_seq y no se repiten.
+-- No se crea partición DEFAULT: impediría el DETACH CONCURRENTLY de la retención. La tarea
+-- de retención crea las particiones de los próximos app.retention.precreate-months meses.
+
+BEGIN;
+
+ALTER TABLE messages RENAME TO messages_legacy;
+ALTER TABLE messages_legacy RENAME CONSTRAINT messages_pkey TO messages_legacy_pkey;
+ALTER INDEX idx_messages_conversation_timestamp RENAME TO idx_messages_legacy_conversation_timestamp;
+
+CREATE TABLE messages (LIKE messages_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (timestamp);
+ALTER TABLE messages ADD CONSTRAINT messages_pkey PRIMARY KEY (id, timestamp);
+ALTER TABLE messages ADD CONSTRAINT fk_messages_conversation
+    FOREIGN KEY (conversation_id) REFERENCES conversations (id);
+CREATE INDEX idx_messages_conversation_timestamp ON messages (conversation_id, timestamp, id);
+
+-- Una partición por mes desde el mensaje más viejo hasta tres meses adelante
+DO $$
+DECLARE
+    month DATE;
+BEGIN
+    FOR month IN
+        SELECT generate_series(
+                   date_trunc('month', COALESCE((SELECT MIN(timestamp) FROM messages_legacy), now())),
+                   date_trunc('month', now()) + INTERVAL '3 months',
+                   INTERVAL '1 month')::date
+    LOOP
+        EXECUTE format('CREATE TABLE messages_p%s PARTITION OF messages FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month, 'YYYYMM'), month, month + INTERVAL '1 month');
+    END LOOP;
+END $$;
+
+INSERT INTO messages SELECT * FROM messages_legacy;
+DROP TABLE messages_legacy;
+
+CREATE TABLE IF NOT EXISTS conversation_archive (
+    id            BIGINT PRIMARY KEY,
+    session_id    VARCHAR(255) NOT NULL UNIQUE,
+    user_id       VARCHAR(255) NOT NULL,
+    started_at    TIMESTAMP(6) NOT NULL,
+    ended_at      TIMESTAMP(6),
+    status        VARCHAR(255) NOT NULL,
+    archived_at   TIMESTAMP(6) NOT NULL,
+    message_count INTEGER      NOT NULL,
+    messages      BYTEA        NOT NULL
+);
+-- El contenido ya viene comprimido con gzip: TOAST no intenta comprimirlo de nuevo
+ALTER TABLE conversation_archive ALTER COLUMN messages SET STORAGE EXTERNAL;
+
+COMMIT;
@@ -0,0 +1,21 @@
+-- Columna last_activity_at para el reaper de conversaciones inactivas (app.reaper).
+-- Ejecutar en PostgreSQL (en cada shard si se usa app.sharding) antes de desplegar: con
+-- ddl-auto=update Hibernate no puede agregar una columna NOT NULL a una tabla con filas.
+
+BEGIN;
+
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS last_activity_at TIMESTAMP(6);
+
+UPDATE conversations c
+SET last_activity_at = COALESCE(
+        (SELECT MAX(m.timestamp) FROM messages m WHERE m.conversation_id = c.id),
+        c.started_at)
+WHERE last_activity_at IS NULL;
+
+ALTER TABLE conversations ALTER COLUMN last_activity_at SET NOT NULL;
+
+COMMIT;
+
+-- Fuera de la transacción: CONCURRENTLY no bloquea las escrituras mientras se construye
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_conversations_status_last_activity
+    ON conversations (status, last_activity_at);
@@ -0,0 +1,15 @@
+-- Contador desnormalizado de mensajes por conversación. Ejecutar en PostgreSQL (en cada
+-- shard si se usa app.sharding) antes de desplegar, después de 005.
+
+BEGIN;
+
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS message_count INTEGER;
+
+UPDATE conversations c
+SET message_count = (SELECT COUNT(*) FROM messages m WHERE m.conversation_id = c.id)
+WHERE message_count IS NULL;
+
+ALTER TABLE conversations ALTER COLUMN message_count SET NOT NULL;
+ALTER TABLE conversations ALTER COLUMN message_count SET DEFAULT 0;
+
+COMMIT;
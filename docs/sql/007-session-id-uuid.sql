@@ -0,0 +1,51 @@
+-- session_id de varchar(255) a uuid nativo (16 bytes). Los valores existentes son UUIDv4
+-- generados por UUID.randomUUID() y se convierten sin cambios; los nuevos son UUIDv7.
+-- Ejecutar en PostgreSQL (en cada shard si se usa app.sharding) antes de desplegar.
+--
+-- Verificar antes que no haya valores que no sean UUID (debe devolver 0):
+--   SELECT COUNT(*) FROM conversations
+--   WHERE session_id !~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$';
+
+-- Opción A, tablas chicas: ALTER ... TYPE reescribe la tabla y el índice único con un
+-- lock exclusivo durante toda la conversión.
+--
+--   ALTER TABLE conversations ALTER COLUMN session_id TYPE uuid USING session_id::uuid;
+--   ALTER TABLE conversation_archive ALTER COLUMN session_id TYPE uuid USING session_id::uuid;
+
+-- Opción B, sin bloquear escrituras mientras se copia: columna nueva, copia por lotes e
+-- intercambio en una transacción corta. Los pasos 1 a 3 se hacen con la versión anterior
+-- desplegada; el trigger mantiene la columna nueva al día.
+
+-- 1. Columna nueva y trigger
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS session_uuid uuid;
+
+CREATE OR REPLACE FUNCTION conversations_session_uuid() RETURNS trigger AS $$
+BEGIN
+    NEW.session_uuid := NEW.session_id::uuid;
+    RETURN NEW;
+END $$ LANGUAGE plpgsql;
+
+CREATE TRIGGER conversations_session_uuid
+    BEFORE INSERT OR UPDATE OF session_id ON conversations
+    FOR EACH ROW EXECUTE FUNCTION conversations_session_uuid();
+
+-- 2. Copia por lotes: repetir hasta que actualice 0 filas
+UPDATE conversations SET session_uuid = session_id::uuid
+WHERE id IN (SELECT id FROM conversations WHERE session_uuid IS NULL LIMIT 10000);
+
+-- 3. Índice único sin bloquear (fuera de una transacción)
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_conversations_session_uuid ON conversations (session_uuid);
+
+-- 4. Intercambio; después desplegar la versión nueva
+BEGIN;
+DROP TRIGGER conversations_session_uuid ON conversations;
+DROP FUNCTION conversations_session_uuid();
+ALTER TABLE conversations DROP COLUMN session_id;
+ALTER TABLE conversations RENAME COLUMN session_uuid TO session_id;
+ALTER TABLE conversations ALTER COLUMN session_id SET NOT NULL;
+ALTER TABLE conversations ADD CONSTRAINT uk_conversations_session_id
+    UNIQUE USING INDEX uk_conversations_session_uuid;
+COMMIT;
+
+-- conversation_archive solo recibe filas de la tarea de retención: alcanza con la opción A
+ALTER TABLE conversation_archive ALTER COLUMN session_id TYPE uuid USING session_id::uuid;
@@ -0,0 +1,113 @@
+package com.enterprise.assistant.benchmark;
+
+import com.enterprise.assistant.application.nlp.CityGazetteer;
+import com.enterprise.assistant.application.service.IntentProcessorService;
+import com.enterprise.assistant.config.GazetteerProperties;
+import com.enterprise.assistant.config.WeatherApiProperties;
+import com.enterprise.assistant.domain.model.City;
+import com.enterprise.assistant.domain.model.Intent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide detección de intención y extracción de ciudad por mensaje. Cada invocación
+ * procesa el siguiente mensaje del corpus, así el resultado es un promedio sobre
+ * todas las intenciones y no sobre un único caso.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IntentProcessorBenchmark {
+
+    @Param({"SHORT", "LONG"})
+    private String corpus;
+
+    private IntentProcessorService intentProcessorService;
+    private String[] messages;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        WeatherApiProperties weatherApiProperties = new WeatherApiProperties();
+        weatherApiProperties.setDefaultCity("Buenos Aires");
+        GazetteerProperties gazetteerProperties = new GazetteerProperties();
+        gazetteerProperties.setIndexDir(Files.createTempDirectory("gazetteer-bench").toString());
+        intentProcessorService = new IntentProcessorService(weatherApiProperties,
+                new CityGazetteer(gazetteerProperties, new DefaultResourceLoader()));
+
+        List<String> selected = "LONG".equals(corpus) ? MessageCorpus.longMessages() : MessageCorpus.shortMessages();
+        messages = selected.toArray(String[]::new);
+        checkCoverage();
+        if ("LONG".equals(corpus)) {
+            checkCities();
+        }
+    }
+
+    @Benchmark
+    public Intent detectIntent() {
+        return intentProcessorService.detectIntent(nextMessage());
+    }
+
+    @Benchmark
+    public String extractCity() {
+        return intentProcessorService.extractCity(nextMessage());
+    }
+
+    @Benchmark
+    public City resolveCity() {
+        return intentProcessorService.resolveCity(nextMessage());
+    }
+
+    private String nextMessage() {
+        String message = messages[next];
+        next = next + 1 == messages.length ? 0 : next + 1;
+        return message;
+    }
+
+    // Evita que un cambio en el corpus deje alguna intención sin medir
+    private void checkCoverage() {
+        Set<Intent> detected = EnumSet.noneOf(Intent.class);
+        for (String message : messages) {
+            detected.add(intentProcessorService.detectIntent(message));
+        }
+        if (!detected.equals(EnumSet.allOf(Intent.class))) {
+            throw new IllegalStateException("Corpus " + corpus + " only covers " + detected);
+        }
+    }
+
+    // El relleno de los mensajes largos no debe cambiar la ciudad: si no, extractCity mide otro caso
+    private void checkCities() {
+        List<String> shortMessages = MessageCorpus.shortMessages();
+        for (int i = 0; i < shortMessages.size(); i++) {
+            City expected = intentProcessorService.resolveCity(shortMessages.get(i));
+            for (String padded : List.of(messages[2 * i], messages[2 * i + 1])) {
+                City actual = intentProcessorService.resolveCity(padded);
+                if (!actual.equals(expected)) {
+                    throw new IllegalStateException("Padding changes the city of '" + shortMessages.get(i)
+                            + "': " + actual + " instead of " + expected);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.enterprise.assistant.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mensajes en español para los benchmarks. Mezcla todas las intenciones, variantes con
+ * y sin tildes, y mensajes largos del tamaño máximo que acepta la API.
+ */
+public final class MessageCorpus {
+
+    // Límite de @Size en ConversationRequest.message
+    public static final int MAX_MESSAGE_LENGTH = 2000;
+
+    private static final List<String> SHORT_MESSAGES = List.of(
+            // GREETING
+            "Hola", "hola, buenos días", "Buenas tardes!", "BUENAS NOCHES", "Qué tal?", "que tal, todo bien?",
+            "Saludos desde Córdoba",
+            // FAREWELL
+            "Adiós", "adios!", "Chau, gracias", "Hasta luego", "nos vemos mañana", "bye",
+            // HELP
+            "Ayuda", "necesito ayuda", "Qué puedes hacer?", "que puedes hacer", "¿Cómo funciona esto?",
+            "comandos disponibles", "help",
+            // WEATHER_QUERY
+            "Clima en Buenos Aires", "¿Qué temperatura hace en Córdoba?", "que temperatura hace en cordoba",
+            "Va a llover en Mar del Plata?", "pronóstico para San Carlos de Bariloche",
+            "pronostico para bariloche", "Hace frío en Ushuaia?", "hace frio en ushuaia", "Cuántos grados hay en Salta",
+            "tiempo en São Paulo", "tiempo en sao paulo", "Clima en Santiago del Estero",
+            "¿Hay lluvia hoy en Nueva York?", "Qué calor hace en Asunción", "clima en Gualeguaychú",
+            // UNKNOWN
+            "xyz123", "Quiero pedir una pizza", "¿Cuál es la capital de Francia?", "dame un chiste",
+            "Recomendame una película", "ok");
+
+    // Sin preposiciones (en/de/para/desde), ciudades ni palabras clave: el relleno no debe cambiar
+    // la ciudad ni la intención que se resuelven del mensaje
+    private static final String FILLER_WORDS =
+            "la reunión sigue confirmada y luego vamos a revisar los números del trimestre con el equipo "
+                    + "comercial antes del cierre mensual y mandar el informe final al directorio ";
+
+    private MessageCorpus() {
+    }
+
+    public static List<String> shortMessages() {
+        return SHORT_MESSAGES;
+    }
+
+    /**
+     * Mensajes de {@link #MAX_MESSAGE_LENGTH} caracteres: la palabra clave y la ciudad al
+     * final (peor caso para el recorrido), al principio, o sin ninguna. Por cada mensaje corto
+     * hay dos largos seguidos, en el orden de {@link #shortMessages()}; el último es solo relleno.
+     */
+    public static List<String> longMessages() {
+        List<String> messages = new ArrayList<>();
+        Random random = new Random(42);
+        for (String message : SHORT_MESSAGES) {
+            String filler = filler(MAX_MESSAGE_LENGTH - message.length() - 1, random);
+            messages.add(filler + " " + message);
+            messages.add(message + " " + filler);
+        }
+        messages.add(filler(MAX_MESSAGE_LENGTH, random));
+        return messages;
+    }
+
+    private static String filler(int length, Random random) {
+        StringBuilder text = new StringBuilder(length + FILLER_WORDS.length());
+        while (text.length() < length) {
+            // Siempre desde el comienzo de una palabra, para no formar "en" o "de" con un corte
+            int start = FILLER_WORDS.indexOf(' ', random.nextInt(FILLER_WORDS.length() / 2)) + 1;
+            text.append(FILLER_WORDS, start, FILLER_WORDS.length());
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+}
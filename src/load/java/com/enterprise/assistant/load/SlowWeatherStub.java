@@ -0,0 +1,65 @@
+package com.enterprise.assistant.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OpenWeather falso que tarda {@code delay} en responder cada {@code /weather}.
+ */
+final class SlowWeatherStub implements AutoCloseable {
+
+    private static final byte[] BODY = """
+            {"name":"Stub","main":{"temp":21.5,"feels_like":21.0,"humidity":40},
+             "weather":[{"main":"Clear","description":"cielo claro"}],"wind":{"speed":3.2}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Duration delay;
+
+    SlowWeatherStub(Duration delay) throws IOException {
+        this.delay = delay;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1000);
+        server.createContext("/weather", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    int resetCalls() {
+        return calls.getAndSet(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        calls.incrementAndGet();
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, BODY.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(BODY);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
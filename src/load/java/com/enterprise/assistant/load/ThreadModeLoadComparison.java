@@ -0,0 +1,168 @@
+package com.enterprise.assistant.load;
+
+import com.enterprise.assistant.ConversationalAssistantApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compara el modo de hilos de plataforma con el de hilos virtuales bajo turnos de clima
+ * lentos: levanta la aplicación dos veces (perfil {@code test} y {@code test,virtual-threads})
+ * contra un OpenWeather falso que tarda {@code load.upstream-delay-ms} en responder y envía
+ * {@code load.turns} mensajes simultáneos. El cache de clima y el rate limit se desactivan
+ * para que cada tanda llegue al upstream; las llamadas concurrentes por ciudad se siguen
+ * agrupando, como en producción.
+ * <p>
+ * Uso: {@code mvn -Pload-test -DskipTests verify -Dload.turns=20000}. Con muchos turnos hace
+ * falta subir el límite de descriptores ({@code ulimit -n}), porque cada turno abre su conexión.
+ */
+public final class ThreadModeLoadComparison {
+
+    private static final List<String> CITIES = List.of("Madrid", "Rosario", "Córdoba", "Lima", "Mendoza",
+            "Montevideo", "Bogotá", "Quito", "Asunción", "La Paz");
+
+    private ThreadModeLoadComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int turns = Integer.getInteger("load.turns", 5000);
+        Duration upstreamDelay = Duration.ofMillis(Long.getLong("load.upstream-delay-ms", 1000));
+
+        try (SlowWeatherStub upstream = new SlowWeatherStub(upstreamDelay)) {
+            Result platform = run("platform", turns, upstream, "test");
+            Result virtual = run("virtual", turns, upstream, "test", "virtual-threads");
+
+            System.out.printf(Locale.ROOT, "%n%d turns, upstream delay %d ms%n", turns, upstreamDelay.toMillis());
+            System.out.printf(Locale.ROOT, "%-10s %8s %8s %10s %9s %9s %9s %10s %10s %8s%n", "mode", "ok",
+                    "errors", "wall ms", "turns/s", "p50 ms", "p99 ms", "upstream", "platform", "pinned");
+            platform.print();
+            virtual.print();
+        }
+    }
+
+    private static Result run(String mode, int turns, SlowWeatherStub upstream, String... profiles)
+            throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ConversationalAssistantApplication.class)
+                .profiles(profiles)
+                .properties(
+                        "server.port=0",
+                        "external.weather.api.base-url=" + upstream.baseUrl(),
+                        "external.weather.cache.enabled=false",
+                        "app.rate-limit.weather.enabled=false",
+                        "app.reaper.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            upstream.resetCalls();
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+
+            Result result = fire(mode, turns, port);
+            result.upstreamCalls = upstream.resetCalls();
+            result.peakPlatformThreads = threads.getPeakThreadCount();
+            result.pinned = context.getBean(MeterRegistry.class).find("threads.virtual.pinned").timers().stream()
+                    .mapToLong(Timer::count)
+                    .sum();
+            return result;
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Result fire(String mode, int turns, int port) throws InterruptedException {
+        URI uri = URI.create("http://127.0.0.1:" + port + "/api/conversations");
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[turns];
+        Arrays.fill(latencies, -1);
+
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientThreads)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            List<CompletableFuture<Void>> pending = new ArrayList<>(turns);
+            long start = System.nanoTime();
+            for (int i = 0; i < turns; i++) {
+                int turn = i;
+                String body = "{\"userId\":\"load-" + turn + "\",\"message\":\"¿Cómo está el clima en "
+                        + CITIES.get(turn % CITIES.size()) + "?\"}";
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .timeout(Duration.ofMinutes(2))
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                long sent = System.nanoTime();
+                pending.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                        .handle((response, failure) -> {
+                            // Un turno que no pasó por OpenWeather no cuenta: no mide lo que se busca
+                            if (failure == null && response.statusCode() == 200
+                                    && response.body().contains("WEATHER_QUERY")) {
+                                latencies[turn] = System.nanoTime() - sent;
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                            return null;
+                        }));
+            }
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+            long wall = System.nanoTime() - start;
+            clientThreads.shutdown();
+            clientThreads.awaitTermination(10, TimeUnit.SECONDS);
+            return new Result(mode, latencies, errors.get(), wall);
+        }
+    }
+
+    private static final class Result {
+
+        private final String mode;
+        private final long[] latencies;
+        private final int errors;
+        private final long wallNanos;
+        private int upstreamCalls;
+        private int peakPlatformThreads;
+        private long pinned;
+
+        private Result(String mode, long[] latencies, int errors, long wallNanos) {
+            this.mode = mode;
+            this.latencies = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+            this.errors = errors;
+            this.wallNanos = wallNanos;
+        }
+
+        private void print() {
+            System.out.printf(Locale.ROOT, "%-10s %8d %8d %10d %9.0f %9d %9d %10d %10d %8d%n", mode,
+                    latencies.length, errors, wallNanos / 1_000_000,
+                    latencies.length / (wallNanos / 1e9), percentile(0.50), percentile(0.99),
+                    upstreamCalls, peakPlatformThreads, pinned);
+        }
+
+        private long percentile(double quantile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            return latencies[(int) Math.ceil(quantile * latencies.length) - 1] / 1_000_000;
+        }
+    }
+}
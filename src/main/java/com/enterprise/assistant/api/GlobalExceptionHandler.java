@@ -1,9 +1,11 @@
 package com.enterprise.assistant.api;
 
 import com.enterprise.assistant.api.dto.ErrorResponse;
+import com.enterprise.assistant.application.service.SessionBusyException;
 import com.enterprise.assistant.infrastructure.external.ExternalServiceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -33,6 +35,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(buildError("Bad Request", ex.getMessage(), 400));
     }
 
+    @ExceptionHandler(SessionBusyException.class)
+    public ResponseEntity<ErrorResponse> handleSessionBusy(SessionBusyException ex) {
+        log.warn("Session busy: {}", ex.getMessage());
+        return ResponseEntity.status(429).body(buildError("Too Many Requests", ex.getMessage(), 429));
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedTask(TaskRejectedException ex) {
+        log.warn("Task rejected: {}", ex.getMessage());
+        return ResponseEntity.status(503).body(buildError("Service Unavailable",
+                "Too many requests in progress, try again later", 503));
+    }
+
     @ExceptionHandler(ExternalServiceException.class)
     public ResponseEntity<ErrorResponse> handleExternalService(ExternalServiceException ex) {
         log.error("External service error: {}", ex.getMessage());
@@ -1,29 +1,85 @@
 package com.enterprise.assistant.api.controller;
 
+import com.enterprise.assistant.api.dto.ConversationBatchRequest;
+import com.enterprise.assistant.api.dto.ConversationBatchResponse;
 import com.enterprise.assistant.api.dto.ConversationHistoryResponse;
 import com.enterprise.assistant.api.dto.ConversationRequest;
 import com.enterprise.assistant.api.dto.ConversationResponse;
+import com.enterprise.assistant.application.service.ConversationBatchService;
+import com.enterprise.assistant.application.service.ConversationExportService;
 import com.enterprise.assistant.application.service.ConversationService;
+import com.enterprise.assistant.application.service.ConversationStreamService;
+import com.enterprise.assistant.application.service.ExportFilter;
+import com.enterprise.assistant.domain.model.ConversationStatus;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/conversations")
 @RequiredArgsConstructor
 public class ConversationController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    // Cubre la espera del turno anterior de la sesión más la llamada a OpenWeather
+    private static final long STREAM_TIMEOUT_MS = 60_000;
+
     private final ConversationService conversationService;
+    private final ConversationExportService exportService;
+    private final ConversationStreamService streamService;
+    private final ConversationBatchService batchService;
 
     @PostMapping
     public ResponseEntity<ConversationResponse> sendMessage(@Valid @RequestBody ConversationRequest request) {
         return ResponseEntity.ok(conversationService.processMessage(request));
     }
 
+    /**
+     * Variante de {@link #sendMessage} por Server-Sent Events: {@code intent} (con el sessionId)
+     * apenas se detecta la intención, {@code reply} con el texto de la respuesta y
+     * {@code persisted} cuando el turno quedó guardado.
+     */
+    @PostMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMessage(@Valid @RequestBody ConversationRequest request) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        streamService.stream(request, new SseTurnEvents(emitter));
+        return emitter;
+    }
+
+    /**
+     * Procesa varios mensajes en un request. Responde 200 con un resultado por mensaje, en
+     * el orden recibido; los que fallan traen su propio {@code status} y {@code error}.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ConversationBatchResponse> sendBatch(@Valid @RequestBody ConversationBatchRequest request) {
+        return ResponseEntity.ok(batchService.process(request.getMessages()));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportConversations(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) ConversationStatus status) {
+        // Se valida antes de empezar a escribir, para poder responder 400
+        ExportFilter filter = new ExportFilter(from, to, status);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(out -> exportService.export(filter, out));
+    }
+
     @GetMapping("/{sessionId}")
-    public ResponseEntity<ConversationHistoryResponse> getConversationHistory(@PathVariable String sessionId) {
-        return ResponseEntity.ok(conversationService.getConversationHistoryDto(sessionId));
+    public ResponseEntity<ConversationHistoryResponse> getConversationHistory(
+            @PathVariable String sessionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(conversationService.getConversationHistoryDto(sessionId, cursor, limit));
     }
 
     @DeleteMapping("/{sessionId}")
@@ -1,5 +1,6 @@
 package com.enterprise.assistant.api.controller;
 
+import com.enterprise.assistant.application.service.WeatherService;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -18,6 +19,7 @@ import java.util.Map;
 public class MetricsController {
 
     private final MeterRegistry meterRegistry;
+    private final WeatherService weatherService;
 
     @GetMapping("/summary")
     public ResponseEntity<Map<String, Object>> getMetricsSummary() {
@@ -36,6 +38,26 @@ public class MetricsController {
         metrics.put("externalApiCalls", apiCalls != null ? apiCalls.count() : 0);
         metrics.put("externalApiFailures", apiFailures != null ? apiFailures.count() : 0);
 
+        Counter cacheHits = meterRegistry.find("weather.cache.hits").counter();
+        Counter cacheMisses = meterRegistry.find("weather.cache.misses").counter();
+        Counter cacheEvictions = meterRegistry.find("weather.cache.evictions").counter();
+        metrics.put("weatherCacheHits", cacheHits != null ? cacheHits.count() : 0);
+        metrics.put("weatherCacheMisses", cacheMisses != null ? cacheMisses.count() : 0);
+        metrics.put("weatherCacheEvictions", cacheEvictions != null ? cacheEvictions.count() : 0);
+
+        Gauge sessionCacheSize = meterRegistry.find("session.cache.size").gauge();
+        Gauge sessionCacheHitRatio = meterRegistry.find("session.cache.hit.ratio").gauge();
+        metrics.put("sessionCacheSize", sessionCacheSize != null ? sessionCacheSize.value() : 0);
+        metrics.put("sessionCacheHitRatio", sessionCacheHitRatio != null ? sessionCacheHitRatio.value() : 0);
+
+        Counter fallbacks = meterRegistry.find("weather.fallback.served").counter();
+        double transitions = meterRegistry.find("weather.circuit.transitions").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+        metrics.put("weatherCircuitState", weatherService.getCircuitState().name());
+        metrics.put("weatherCircuitTransitions", transitions);
+        metrics.put("weatherFallbacksServed", fallbacks != null ? fallbacks.count() : 0);
+
         return ResponseEntity.ok(metrics);
     }
 }
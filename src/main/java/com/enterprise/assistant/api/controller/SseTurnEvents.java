@@ -0,0 +1,94 @@
+package com.enterprise.assistant.api.controller;
+
+import com.enterprise.assistant.api.dto.ConversationResponse;
+import com.enterprise.assistant.api.dto.ConversationStreamEvent;
+import com.enterprise.assistant.api.dto.ErrorResponse;
+import com.enterprise.assistant.application.service.ConversationStreamService;
+import com.enterprise.assistant.application.service.SessionBusyException;
+import com.enterprise.assistant.domain.model.Intent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Traduce los pasos de un turno a eventos SSE: {@code intent}, {@code reply} y
+ * {@code persisted}, o {@code error} si el turno falla.
+ */
+class SseTurnEvents implements ConversationStreamService.Listener {
+
+    private static final Logger log = LoggerFactory.getLogger(SseTurnEvents.class);
+
+    private final SseEmitter emitter;
+    // El cliente puede cerrar la conexión a mitad del turno; el turno se completa igual
+    private volatile boolean disconnected;
+
+    SseTurnEvents(SseEmitter emitter) {
+        this.emitter = emitter;
+        emitter.onError(error -> disconnected = true);
+        emitter.onTimeout(() -> disconnected = true);
+    }
+
+    @Override
+    public void intentDetected(String sessionId, Intent intent) {
+        send("intent", ConversationStreamEvent.builder()
+                .sessionId(sessionId)
+                .intent(intent.name())
+                .build());
+    }
+
+    @Override
+    public void replyReady(String message, String externalServiceUsed) {
+        send("reply", ConversationStreamEvent.builder()
+                .message(message)
+                .externalServiceUsed(externalServiceUsed)
+                .build());
+    }
+
+    @Override
+    public void persisted(ConversationResponse response) {
+        send("persisted", response);
+        emitter.complete();
+    }
+
+    @Override
+    public void failed(RuntimeException error) {
+        send("error", errorFor(error));
+        emitter.complete();
+    }
+
+    private void send(String name, Object data) {
+        if (disconnected) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Stream client went away before event {}: {}", name, e.getMessage());
+            disconnected = true;
+        }
+    }
+
+    // Mismos códigos que GlobalExceptionHandler; acá ya no se puede cambiar el status HTTP
+    private static ErrorResponse errorFor(RuntimeException error) {
+        if (error instanceof SessionBusyException) {
+            return error("Too Many Requests", error.getMessage(), 429);
+        }
+        if (error instanceof IllegalArgumentException) {
+            return error("Bad Request", error.getMessage(), 400);
+        }
+        return error("Internal Error", "An unexpected error occurred", 500);
+    }
+
+    private static ErrorResponse error(String error, String message, int status) {
+        return ErrorResponse.builder()
+                .error(error)
+                .message(message)
+                .status(status)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
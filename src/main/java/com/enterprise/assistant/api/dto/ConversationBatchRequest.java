@@ -0,0 +1,20 @@
+package com.enterprise.assistant.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationBatchRequest {
+
+    // Sin @Valid en los elementos: un mensaje inválido falla solo, no todo el lote
+    @NotEmpty(message = "Messages cannot be empty")
+    private List<ConversationRequest> messages;
+}
@@ -0,0 +1,19 @@
+package com.enterprise.assistant.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationBatchResponse {
+
+    private List<ConversationBatchResult> results;
+    private int succeeded;
+    private int failed;
+}
@@ -0,0 +1,21 @@
+package com.enterprise.assistant.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ConversationBatchResult {
+
+    // Posición del mensaje en el request
+    private int index;
+    private int status;
+    private ConversationResponse response;
+    private ErrorResponse error;
+}
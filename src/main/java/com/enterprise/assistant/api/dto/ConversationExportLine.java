@@ -0,0 +1,37 @@
+package com.enterprise.assistant.api.dto;
+
+import com.enterprise.assistant.domain.model.ConversationStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Una línea del export NDJSON: {@code type = "conversation"} abre una conversación y
+ * las líneas {@code type = "message"} siguientes son sus mensajes, en orden.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ConversationExportLine {
+
+    public static final String CONVERSATION = "conversation";
+    public static final String MESSAGE = "message";
+
+    private String type;
+    private String sessionId;
+    private String userId;
+    private ConversationStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime endedAt;
+    private String role;
+    private String content;
+    private String intent;
+    private LocalDateTime timestamp;
+    private String externalServiceUsed;
+}
@@ -20,7 +20,12 @@ public class ConversationHistoryResponse {
     private ConversationStatus status;
     private LocalDateTime startedAt;
     private LocalDateTime endedAt;
+    // Totales de la conversación, no de la página
+    private int messageCount;
+    private LocalDateTime lastMessageAt;
     private List<MessageDto> messages;
+    // Cursor opaco para pedir la página siguiente; null si no hay más mensajes
+    private String nextCursor;
 
     @Data
     @Builder
@@ -0,0 +1,26 @@
+package com.enterprise.assistant.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Respuesta del servidor en {@code /ws/conversations}: {@code reply} con el turno, o
+ * {@code error} si el mensaje no se pudo procesar (la conexión sigue abierta).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ConversationSocketEvent {
+
+    public static final String REPLY = "reply";
+    public static final String ERROR = "error";
+
+    private String type;
+    private ConversationResponse response;
+    private ErrorResponse error;
+}
@@ -0,0 +1,23 @@
+package com.enterprise.assistant.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mensaje del cliente en {@code /ws/conversations}. La sesión y el usuario quedan fijados
+ * al abrir la conexión, así que solo viaja el texto.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationSocketMessage {
+
+    @NotBlank(message = "Message cannot be empty")
+    @Size(max = 2000)
+    private String message;
+}
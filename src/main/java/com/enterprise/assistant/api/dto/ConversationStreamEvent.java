@@ -0,0 +1,25 @@
+package com.enterprise.assistant.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Datos de los eventos {@code intent} y {@code reply} de {@code POST /api/conversations/stream}.
+ * El evento final {@code persisted} lleva un {@link ConversationResponse} y {@code error}, un
+ * {@link ErrorResponse}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ConversationStreamEvent {
+
+    private String sessionId;
+    private String intent;
+    private String message;
+    private String externalServiceUsed;
+}
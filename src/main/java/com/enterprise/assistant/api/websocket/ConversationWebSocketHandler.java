@@ -0,0 +1,200 @@
+package com.enterprise.assistant.api.websocket;
+
+import com.enterprise.assistant.api.dto.ConversationResponse;
+import com.enterprise.assistant.api.dto.ConversationSocketEvent;
+import com.enterprise.assistant.api.dto.ConversationSocketMessage;
+import com.enterprise.assistant.api.dto.ErrorResponse;
+import com.enterprise.assistant.application.service.ConversationService;
+import com.enterprise.assistant.application.service.MetricsService;
+import com.enterprise.assistant.application.service.SessionBusyException;
+import com.enterprise.assistant.config.WebSocketProperties;
+import com.enterprise.assistant.domain.model.Conversation;
+import com.enterprise.assistant.infrastructure.security.JwtHandshakeInterceptor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Canal de conversación por WebSocket en {@code /ws/conversations?sessionId=&userId=}. La
+ * conversación se resuelve una vez al conectar y queda atada a la conexión; cada mensaje
+ * de texto ({@link ConversationSocketMessage}) es un turno y recibe un
+ * {@link ConversationSocketEvent}. Sin {@code sessionId} la conversación nueva se crea con
+ * el primer mensaje; sin {@code userId} se usa el usuario del token.
+ * <p>
+ * Los mensajes de una conexión se procesan de a uno: mientras corre un turno no se lee el
+ * siguiente, así un cliente que envía de más recibe backpressure de TCP. Las respuestas que
+ * el cliente no llega a leer se acumulan hasta {@code app.websocket.send-buffer-size}.
+ */
+@Component
+public class ConversationWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationWebSocketHandler.class);
+
+    private static final int MAX_USER_ID_LENGTH = 100;
+
+    private final ConversationService conversationService;
+    private final MetricsService metricsService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final WebSocketProperties properties;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    public ConversationWebSocketHandler(ConversationService conversationService, MetricsService metricsService,
+                                        ObjectMapper objectMapper, Validator validator,
+                                        WebSocketProperties properties) {
+        this.conversationService = conversationService;
+        this.metricsService = metricsService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.properties = properties;
+        metricsService.registerWebSocketGauge(channels::size);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        if (channels.size() >= properties.getMaxConnections()) {
+            log.warn("Rejecting WebSocket connection: {} already open", channels.size());
+            session.close(CloseStatus.SERVICE_OVERLOAD.withReason("Too many open connections"));
+            return;
+        }
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams();
+        String sessionId = param(params, "sessionId");
+        String userId = param(params, "userId");
+        if (userId == null) {
+            userId = (String) session.getAttributes().get(JwtHandshakeInterceptor.USERNAME);
+        }
+        if (userId == null || userId.isBlank() || userId.length() > MAX_USER_ID_LENGTH) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("User ID is required"));
+            return;
+        }
+
+        session.setTextMessageSizeLimit((int) properties.getMaxMessageSize().toBytes());
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            jakarta.websocket.Session socket = nativeSession.getNativeSession(jakarta.websocket.Session.class);
+            if (socket != null) {
+                socket.setMaxIdleTimeout(properties.getIdleTimeout().toMillis());
+            }
+        }
+
+        Conversation conversation = conversationService.bindConversation(sessionId, userId);
+        WebSocketSession outbound = new ConcurrentWebSocketSessionDecorator(session,
+                (int) properties.getSendTimeLimit().toMillis(), (int) properties.getSendBufferSize().toBytes());
+        channels.put(session.getId(), new Channel(outbound, conversation,
+                (Instant) session.getAttributes().get(JwtHandshakeInterceptor.TOKEN_EXPIRES_AT)));
+        log.info("WebSocket bound to sessionId: {}, userId: {}", conversation.getSessionId(), userId);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        Channel channel = channels.get(session.getId());
+        if (channel == null) {
+            return;
+        }
+        // El token se validó en el handshake; la conexión no puede sobrevivirlo
+        if (channel.tokenExpiresAt() != null && Instant.now().isAfter(channel.tokenExpiresAt())) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Token expired"));
+            return;
+        }
+
+        ConversationSocketMessage inbound;
+        try {
+            inbound = objectMapper.readValue(message.getPayload(), ConversationSocketMessage.class);
+        } catch (JsonProcessingException e) {
+            send(channel, error("Bad Request", "Malformed message", 400));
+            return;
+        }
+        Set<ConstraintViolation<ConversationSocketMessage>> violations = validator.validate(inbound);
+        if (!violations.isEmpty()) {
+            send(channel, error("Validation Error", violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(", ")), 400));
+            return;
+        }
+
+        ConversationSocketEvent reply;
+        try {
+            ConversationResponse response = conversationService.processMessage(channel.conversation(),
+                    inbound.getMessage());
+            reply = ConversationSocketEvent.builder()
+                    .type(ConversationSocketEvent.REPLY)
+                    .response(response)
+                    .build();
+        } catch (SessionBusyException e) {
+            reply = error("Too Many Requests", e.getMessage(), 429);
+        } catch (RuntimeException e) {
+            log.error("WebSocket turn failed for sessionId {}: {}", channel.conversation().getSessionId(),
+                    e.getMessage(), e);
+            reply = error("Internal Error", "An unexpected error occurred", 500);
+        }
+        send(channel, reply);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("WebSocket transport error on {}: {}", session.getId(), exception.getMessage());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Channel channel = channels.remove(session.getId());
+        metricsService.recordWebSocketClosed(status.getCode());
+        if (channel != null) {
+            log.debug("WebSocket for sessionId {} closed: {}", channel.conversation().getSessionId(), status);
+        }
+    }
+
+    private void send(Channel channel, ConversationSocketEvent event) throws IOException {
+        try {
+            channel.outbound().sendMessage(new TextMessage(objectMapper.writeValueAsString(event)));
+        } catch (SessionLimitExceededException e) {
+            // El cliente no lee sus respuestas: se corta en vez de acumular memoria
+            log.warn("Closing slow WebSocket client for sessionId {}: {}",
+                    channel.conversation().getSessionId(), e.getMessage());
+            channel.outbound().close(e.getStatus());
+        }
+    }
+
+    private static String param(MultiValueMap<String, String> params, String name) {
+        String value = params.getFirst(name);
+        return value == null || value.isEmpty() ? null : UriUtils.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static ConversationSocketEvent error(String error, String message, int status) {
+        return ConversationSocketEvent.builder()
+                .type(ConversationSocketEvent.ERROR)
+                .error(ErrorResponse.builder()
+                        .error(error)
+                        .message(message)
+                        .status(status)
+                        .timestamp(LocalDateTime.now())
+                        .build())
+                .build();
+    }
+
+    // Estado de una conexión mientras está abierta
+    private record Channel(WebSocketSession outbound, Conversation conversation, Instant tokenExpiresAt) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.enterprise.assistant.application.nlp;
+
+import com.enterprise.assistant.config.GazetteerProperties;
+import com.enterprise.assistant.domain.model.City;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Diccionario de ciudades conocidas. El listado incluido en el jar (TSV: id, nombre,
+ * país y alias separados por '|') se compila a un {@link GazetteerIndex} en disco la
+ * primera vez; los arranques siguientes solo mapean el archivo existente.
+ */
+@Component
+public class CityGazetteer {
+
+    private static final Logger log = LoggerFactory.getLogger(CityGazetteer.class);
+
+    private final GazetteerIndex index;
+
+    public CityGazetteer(GazetteerProperties properties, ResourceLoader resourceLoader) throws IOException {
+        byte[] content;
+        try (InputStream in = resourceLoader.getResource(properties.getSource()).getInputStream()) {
+            content = in.readAllBytes();
+        }
+        // El nombre del índice depende del contenido, así un listado nuevo nunca usa un índice viejo
+        Path indexFile = Path.of(properties.getIndexDir()).resolve("cities-" + digest(content) + ".idx");
+        this.index = loadOrBuild(indexFile, content);
+    }
+
+    public Optional<City> findInMessage(String message) {
+        return Optional.ofNullable(index.findLongest(message));
+    }
+
+    public Optional<City> findAtStart(CharSequence text) {
+        return Optional.ofNullable(index.findAtStart(text));
+    }
+
+    public Optional<City> findByName(String name) {
+        return Optional.ofNullable(index.findExact(name));
+    }
+
+    private GazetteerIndex loadOrBuild(Path indexFile, byte[] content) throws IOException {
+        if (Files.exists(indexFile)) {
+            try {
+                return GazetteerIndex.map(indexFile);
+            } catch (IOException e) {
+                log.warn("Discarding unreadable gazetteer index {}: {}", indexFile, e.getMessage());
+            }
+        }
+        List<GazetteerIndex.Entry> entries = parse(content);
+        GazetteerIndex.write(entries, indexFile);
+        log.info("Built city gazetteer index with {} cities at {}", entries.size(), indexFile);
+        return GazetteerIndex.map(indexFile);
+    }
+
+    private static List<GazetteerIndex.Entry> parse(byte[] content) {
+        List<GazetteerIndex.Entry> entries = new ArrayList<>();
+        for (String line : new String(content, StandardCharsets.UTF_8).split("\\R")) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split("\t");
+            if (columns.length < 3) {
+                throw new IllegalArgumentException("Invalid gazetteer line: " + line);
+            }
+            List<String> aliases = columns.length > 3 && !columns[3].isBlank()
+                    ? Arrays.asList(columns[3].split("\\|"))
+                    : List.of();
+            entries.add(new GazetteerIndex.Entry(columns[0].trim(), columns[1].trim(), columns[2].trim(), aliases));
+        }
+        return entries;
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.enterprise.assistant.application.nlp;
+
+import com.enterprise.assistant.domain.model.City;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Trie de nombres de ciudades (normalizados con {@link TextFolding}) serializado en un
+ * archivo y leído con un {@link java.nio.MappedByteBuffer}: los nodos no se copian al heap
+ * y la búsqueda recorre el buffer directamente.
+ * <p>
+ * Formato: cabecera {@code (magic, cantidad de ciudades, offset de la tabla de ciudades)};
+ * cada nodo es {@code (índice de ciudad o -1, cantidad de hijos)} seguido de los hijos
+ * ordenados por carácter {@code (char, offset del nodo)}; la tabla de ciudades tiene el
+ * offset de cada registro {@code (id, nombre, país)} en UTF-8 con largo.
+ */
+public final class GazetteerIndex {
+
+    private static final int MAGIC = 0x47415A31;
+    private static final int ROOT = 12;
+    private static final int NODE_HEADER_SIZE = 6;
+    private static final int CHILD_SIZE = 6;
+
+    private final ByteBuffer buffer;
+    private final int cityCount;
+    private final int citiesOffset;
+
+    private GazetteerIndex(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < ROOT || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Invalid gazetteer index");
+        }
+        this.buffer = buffer;
+        this.cityCount = buffer.getInt(4);
+        this.citiesOffset = buffer.getInt(8);
+    }
+
+    public record Entry(String id, String name, String countryCode, List<String> aliases) {
+    }
+
+    public static GazetteerIndex map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // El mapeo sigue siendo válido después de cerrar el canal
+            return new GazetteerIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static void write(List<Entry> entries, Path file) throws IOException {
+        Node root = new Node();
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            insert(root, entry.name(), i);
+            for (String alias : entry.aliases()) {
+                insert(root, alias, i);
+            }
+        }
+
+        List<Node> nodes = new ArrayList<>();
+        collect(root, nodes);
+        int offset = ROOT;
+        for (Node node : nodes) {
+            node.offset = offset;
+            offset += NODE_HEADER_SIZE + node.children.size() * CHILD_SIZE;
+        }
+        int citiesOffset = offset;
+
+        List<byte[][]> records = new ArrayList<>();
+        int size = citiesOffset + entries.size() * 4;
+        for (Entry entry : entries) {
+            byte[][] fields = {utf8(entry.id()), utf8(entry.name()), utf8(entry.countryCode())};
+            for (byte[] field : fields) {
+                size += 2 + field.length;
+            }
+            records.add(fields);
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(MAGIC).putInt(entries.size()).putInt(citiesOffset);
+        for (Node node : nodes) {
+            out.putInt(node.city).putShort((short) node.children.size());
+            for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                out.putChar(child.getKey()).putInt(child.getValue().offset);
+            }
+        }
+        int recordOffset = citiesOffset + entries.size() * 4;
+        for (byte[][] fields : records) {
+            out.putInt(recordOffset);
+            for (byte[] field : fields) {
+                recordOffset += 2 + field.length;
+            }
+        }
+        for (byte[][] fields : records) {
+            for (byte[] field : fields) {
+                out.putShort((short) field.length).put(field);
+            }
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "gazetteer", ".tmp");
+        Files.write(temp, out.array());
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public int size() {
+        return cityCount;
+    }
+
+    /**
+     * Busca el nombre de ciudad más largo que aparezca en el texto como palabras completas.
+     * Ante dos coincidencias del mismo largo gana la primera.
+     */
+    public City findLongest(CharSequence text) {
+        int bestCity = -1;
+        int bestLength = 0;
+
+        for (int start = 0; start < text.length(); start++) {
+            if (!isWordChar(TextFolding.fold(text.charAt(start)))
+                    || (start > 0 && isWordChar(TextFolding.fold(text.charAt(start - 1))))) {
+                continue;
+            }
+            long match = longestAt(text, start);
+            if (match >= 0 && (int) match > bestLength) {
+                bestCity = (int) (match >>> 32);
+                bestLength = (int) match;
+            }
+        }
+        return bestCity < 0 ? null : readCity(bestCity);
+    }
+
+    /**
+     * Como {@link #findLongest} pero solo con el nombre que empieza en la primera palabra del
+     * texto (se ignoran los espacios iniciales).
+     */
+    public City findAtStart(CharSequence text) {
+        int start = 0;
+        while (start < text.length() && TextFolding.fold(text.charAt(start)) == ' ') {
+            start++;
+        }
+        long match = longestAt(text, start);
+        return match < 0 ? null : readCity((int) (match >>> 32));
+    }
+
+    // Ciudad en los 32 bits altos y largo en los bajos, o -1; así el recorrido no asigna objetos
+    private long longestAt(CharSequence text, int start) {
+        long best = -1;
+        int length = text.length();
+        int node = ROOT;
+        char previous = 0;
+        for (int i = start; i < length; i++) {
+            char c = TextFolding.fold(text.charAt(i));
+            if (c == ' ' && previous == ' ') {
+                continue;
+            }
+            previous = c;
+            node = child(node, c);
+            if (node < 0) {
+                break;
+            }
+            int city = buffer.getInt(node);
+            if (city >= 0 && (i + 1 == length || !isWordChar(TextFolding.fold(text.charAt(i + 1))))) {
+                best = ((long) city << 32) | (i + 1 - start);
+            }
+        }
+        return best;
+    }
+
+    public City findExact(CharSequence text) {
+        String folded = TextFolding.fold(text);
+        int node = ROOT;
+        for (int i = 0; i < folded.length() && node >= 0; i++) {
+            node = child(node, folded.charAt(i));
+        }
+        if (node < 0 || folded.isEmpty()) {
+            return null;
+        }
+        int city = buffer.getInt(node);
+        return city < 0 ? null : readCity(city);
+    }
+
+    private int child(int node, char c) {
+        int low = 0;
+        int high = Short.toUnsignedInt(buffer.getShort(node + 4)) - 1;
+        int base = node + NODE_HEADER_SIZE;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = buffer.getChar(base + mid * CHILD_SIZE);
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return buffer.getInt(base + mid * CHILD_SIZE + 2);
+            }
+        }
+        return -1;
+    }
+
+    private City readCity(int index) {
+        int offset = buffer.getInt(citiesOffset + index * 4);
+        String[] fields = new String[3];
+        for (int i = 0; i < fields.length; i++) {
+            int fieldLength = Short.toUnsignedInt(buffer.getShort(offset));
+            byte[] bytes = new byte[fieldLength];
+            buffer.get(offset + 2, bytes);
+            fields[i] = new String(bytes, StandardCharsets.UTF_8);
+            offset += 2 + fieldLength;
+        }
+        return new City(fields[0], fields[1], fields[2]);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    private static void insert(Node root, String key, int city) {
+        String folded = TextFolding.fold(key);
+        if (folded.isEmpty()) {
+            throw new IllegalArgumentException("Empty city name");
+        }
+        Node node = root;
+        for (int i = 0; i < folded.length(); i++) {
+            node = node.children.computeIfAbsent(folded.charAt(i), c -> new Node());
+        }
+        if (node.city >= 0 && node.city != city) {
+            throw new IllegalArgumentException("Duplicate city name: " + key);
+        }
+        node.city = city;
+    }
+
+    private static void collect(Node node, List<Node> nodes) {
+        nodes.add(node);
+        for (Node child : node.children.values()) {
+            collect(child, nodes);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class Node {
+
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private int city = -1;
+        private int offset;
+    }
+}
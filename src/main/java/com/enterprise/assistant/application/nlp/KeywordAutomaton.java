@@ -0,0 +1,127 @@
+package com.enterprise.assistant.application.nlp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aho-Corasick sobre texto normalizado con {@link TextFolding}. Cada palabra clave aporta
+ * un bit y {@link #match} devuelve el OR de los bits encontrados en una sola pasada,
+ * usando una tabla de transiciones completa (sin asignaciones por llamada).
+ */
+public final class KeywordAutomaton {
+
+    // a-z, espacio y "otro" (cualquier carácter que no aparece en las palabras clave)
+    private static final int ALPHABET = 28;
+    private static final int SPACE = 26;
+    private static final int OTHER = 27;
+
+    private final int[] transitions;
+    private final int[] outputs;
+
+    private KeywordAutomaton(int[] transitions, int[] outputs) {
+        this.transitions = transitions;
+        this.outputs = outputs;
+    }
+
+    public static KeywordAutomaton build(Map<String, Integer> keywordBits) {
+        List<int[]> gotos = new ArrayList<>();
+        List<Integer> outs = new ArrayList<>();
+        gotos.add(newState());
+        outs.add(0);
+
+        for (Map.Entry<String, Integer> keyword : keywordBits.entrySet()) {
+            String folded = TextFolding.fold(keyword.getKey());
+            if (folded.isEmpty()) {
+                throw new IllegalArgumentException("Empty keyword");
+            }
+            int state = 0;
+            for (int i = 0; i < folded.length(); i++) {
+                int symbol = symbol(folded.charAt(i));
+                if (symbol == OTHER) {
+                    throw new IllegalArgumentException("Unsupported character in keyword: " + keyword.getKey());
+                }
+                if (gotos.get(state)[symbol] < 0) {
+                    gotos.get(state)[symbol] = gotos.size();
+                    gotos.add(newState());
+                    outs.add(0);
+                }
+                state = gotos.get(state)[symbol];
+            }
+            outs.set(state, outs.get(state) | keyword.getValue());
+        }
+
+        int states = gotos.size();
+        int[] transitions = new int[states * ALPHABET];
+        int[] outputs = new int[states];
+        int[] failure = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int next = gotos.get(0)[symbol];
+            transitions[symbol] = Math.max(next, 0);
+            if (next > 0) {
+                queue.add(next);
+            }
+        }
+        outputs[0] = outs.get(0);
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = outs.get(state) | outputs[failure[state]];
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int next = gotos.get(state)[symbol];
+                if (next > 0) {
+                    failure[next] = transitions[failure[state] * ALPHABET + symbol];
+                    transitions[state * ALPHABET + symbol] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * ALPHABET + symbol] = transitions[failure[state] * ALPHABET + symbol];
+                }
+            }
+        }
+        return new KeywordAutomaton(transitions, outputs);
+    }
+
+    /**
+     * Recorre el texto una vez. Termina antes si encuentra alguno de los bits de {@code stopMask}.
+     */
+    public int match(CharSequence text, int stopMask) {
+        int state = 0;
+        int found = 0;
+        boolean previousSpace = true;
+        for (int i = 0; i < text.length(); i++) {
+            int symbol = symbol(TextFolding.fold(text.charAt(i)));
+            if (symbol == SPACE) {
+                if (previousSpace) {
+                    continue;
+                }
+                previousSpace = true;
+            } else {
+                previousSpace = false;
+            }
+            state = transitions[state * ALPHABET + symbol];
+            found |= outputs[state];
+            if ((found & stopMask) != 0) {
+                return found;
+            }
+        }
+        return found;
+    }
+
+    private static int symbol(char folded) {
+        if (folded >= 'a' && folded <= 'z') {
+            return folded - 'a';
+        }
+        return folded == ' ' ? SPACE : OTHER;
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+}
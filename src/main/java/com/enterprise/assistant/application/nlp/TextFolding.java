@@ -0,0 +1,52 @@
+package com.enterprise.assistant.application.nlp;
+
+import java.text.Normalizer;
+
+/**
+ * Normalización de texto sin asignaciones por carácter: minúsculas, sin tildes
+ * y cualquier espacio en blanco como ' '.
+ */
+public final class TextFolding {
+
+    private static final char[] FOLDED = new char[0x250];
+
+    static {
+        for (int c = 0; c < FOLDED.length; c++) {
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                FOLDED[c] = ' ';
+                continue;
+            }
+            String decomposed = Normalizer.normalize(String.valueOf((char) c), Normalizer.Form.NFD);
+            FOLDED[c] = Character.toLowerCase(decomposed.charAt(0));
+        }
+    }
+
+    private TextFolding() {
+    }
+
+    public static char fold(char c) {
+        if (c < FOLDED.length) {
+            return FOLDED[c];
+        }
+        return Character.isWhitespace(c) ? ' ' : Character.toLowerCase(c);
+    }
+
+    public static String fold(CharSequence text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        char previous = ' ';
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            if (c == ' ' && previous == ' ') {
+                continue;
+            }
+            folded.append(c);
+            previous = c;
+        }
+        int end = folded.length();
+        while (end > 0 && folded.charAt(end - 1) == ' ') {
+            end--;
+        }
+        folded.setLength(end);
+        return folded.toString();
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+
 @Service
 @RequiredArgsConstructor
 @Profile("!test")
@@ -41,4 +43,8 @@ public class AuthService {
     public String extractUsername(String token) {
         return jwtUtil.extractUsername(token);
     }
+
+    public Instant extractExpiration(String token) {
+        return jwtUtil.extractExpiration(token).toInstant();
+    }
 }
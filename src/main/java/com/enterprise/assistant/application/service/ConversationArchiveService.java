@@ -0,0 +1,218 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.domain.model.ArchivedConversation;
+import com.enterprise.assistant.domain.model.Conversation;
+import com.enterprise.assistant.domain.model.ConversationStatus;
+import com.enterprise.assistant.domain.model.MessageRole;
+import com.enterprise.assistant.domain.repository.ArchivedConversationRepository;
+import com.enterprise.assistant.domain.repository.ConversationRepository;
+import com.enterprise.assistant.domain.repository.MessageRepository;
+import com.enterprise.assistant.domain.repository.MessageView;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Mueve conversaciones finalizadas a {@code conversation_archive}: una fila por
+ * conversación con sus mensajes como JSON comprimido. Cada lote se inserta en el archivo
+ * y se borra de las tablas calientes con dos {@code DELETE} por lote, no fila por fila.
+ */
+@Service
+public class ConversationArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationArchiveService.class);
+
+    private static final String MESSAGES_QUERY = """
+            select m.conversation.id, m.id, m.role, m.content, m.intent, m.timestamp, m.externalServiceUsed
+            from Message m
+            where m.conversation.id in :conversationIds
+            order by m.conversation.id, m.timestamp asc, m.id asc
+            """;
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final ConversationRepository conversationRepository;
+    private final MessageRepository messageRepository;
+    private final ArchivedConversationRepository archiveRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final SessionCache sessionCache;
+    private final MetricsService metricsService;
+    private final ObjectWriter messagesWriter;
+    private final ObjectReader messagesReader;
+
+    public ConversationArchiveService(ConversationRepository conversationRepository,
+                                      MessageRepository messageRepository,
+                                      ArchivedConversationRepository archiveRepository,
+                                      EntityManager entityManager,
+                                      PlatformTransactionManager transactionManager,
+                                      SessionCache sessionCache,
+                                      MetricsService metricsService,
+                                      ObjectMapper objectMapper) {
+        this.conversationRepository = conversationRepository;
+        this.messageRepository = messageRepository;
+        this.archiveRepository = archiveRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sessionCache = sessionCache;
+        this.metricsService = metricsService;
+        TypeReference<List<MessageView>> type = new TypeReference<>() {
+        };
+        this.messagesWriter = objectMapper.writerFor(type);
+        this.messagesReader = objectMapper.readerFor(type);
+    }
+
+    /**
+     * Archiva las conversaciones COMPLETED finalizadas antes de {@code endedBefore}, en
+     * transacciones de hasta {@code batchSize} conversaciones. Devuelve cuántas archivó.
+     */
+    public int archiveCompletedBefore(LocalDateTime endedBefore, int batchSize) {
+        int total = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveBatch(endedBefore, batchSize));
+            total += archived;
+        } while (archived == batchSize);
+        if (total > 0) {
+            log.info("Archived {} conversations ended before {}", total, endedBefore);
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime endedBefore, int batchSize) {
+        List<Conversation> batch = conversationRepository.findToArchive(
+                ConversationStatus.COMPLETED, endedBefore, Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = batch.stream().map(Conversation::getId).toList();
+
+        Map<Long, Conversation> pending = new LinkedHashMap<>();
+        batch.forEach(conversation -> pending.put(conversation.getId(), conversation));
+        LocalDateTime archivedAt = LocalDateTime.now();
+
+        // Proyección recorrida en orden de conversación: cada una se comprime apenas terminan sus
+        // mensajes, así en memoria no hay entidades Message ni más de una conversación por vez
+        Query<Object[]> query = entityManager.unwrap(Session.class)
+                .createQuery(MESSAGES_QUERY, Object[].class)
+                .setParameter("conversationIds", ids)
+                .setFetchSize(FETCH_SIZE)
+                .setReadOnly(true);
+        Long currentConversation = null;
+        List<MessageView> messages = new ArrayList<>();
+        try (ScrollableResults<Object[]> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                Object[] row = results.get();
+                Long conversationId = (Long) row[0];
+                if (!conversationId.equals(currentConversation)) {
+                    if (currentConversation != null) {
+                        archive(pending.remove(currentConversation), messages, archivedAt);
+                        messages = new ArrayList<>();
+                    }
+                    currentConversation = conversationId;
+                }
+                messages.add(new MessageView((Long) row[1], (MessageRole) row[2], (String) row[3],
+                        (String) row[4], (LocalDateTime) row[5], (String) row[6]));
+            }
+        }
+        if (currentConversation != null) {
+            archive(pending.remove(currentConversation), messages, archivedAt);
+        }
+        // Conversaciones sin mensajes
+        pending.values().forEach(conversation -> archive(conversation, List.of(), archivedAt));
+        entityManager.flush();
+
+        messageRepository.deleteAllByConversationIds(ids);
+        conversationRepository.deleteAllByIdInBatch(ids);
+        batch.forEach(conversation -> sessionCache.invalidate(conversation.getSessionId()));
+        metricsService.recordConversationsArchived(batch.size());
+        return batch.size();
+    }
+
+    private void archive(Conversation conversation, List<MessageView> messages, LocalDateTime archivedAt) {
+        // persist y no save: con id asignado, save haría un SELECT previo por cada fila
+        entityManager.persist(ArchivedConversation.builder()
+                .id(conversation.getId())
+                .sessionId(conversation.getSessionId())
+                .userId(conversation.getUserId())
+                .status(conversation.getStatus())
+                .startedAt(conversation.getStartedAt())
+                .endedAt(conversation.getEndedAt())
+                .archivedAt(archivedAt)
+                .messageCount(messages.size())
+                .messages(compress(messages))
+                .build());
+    }
+
+    /**
+     * Busca una conversación archivada. Devuelve la conversación (sin mensajes asociados)
+     * y todos sus mensajes en orden.
+     */
+    public Optional<ArchivedHistory> findBySessionId(String sessionId) {
+        return archiveRepository.findBySessionId(sessionId).map(archived -> {
+            metricsService.recordArchivedHistoryRead();
+            Conversation conversation = Conversation.builder()
+                    .id(archived.getId())
+                    .sessionId(archived.getSessionId())
+                    .userId(archived.getUserId())
+                    .status(archived.getStatus())
+                    .startedAt(archived.getStartedAt())
+                    .endedAt(archived.getEndedAt())
+                    .messageCount(archived.getMessageCount())
+                    .build();
+            List<MessageView> messages = decompress(archived.getMessages());
+            if (!messages.isEmpty()) {
+                conversation.setLastActivityAt(messages.get(messages.size() - 1).timestamp());
+            }
+            return new ArchivedHistory(conversation, messages);
+        });
+    }
+
+    private byte[] compress(List<MessageView> messages) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            messagesWriter.writeValue(gzip, messages);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<MessageView> decompress(byte[] payload) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return messagesReader.readValue(gzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record ArchivedHistory(Conversation conversation, List<MessageView> messages) {
+    }
+}
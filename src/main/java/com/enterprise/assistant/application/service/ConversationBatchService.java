@@ -0,0 +1,290 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.api.dto.ConversationBatchResponse;
+import com.enterprise.assistant.api.dto.ConversationBatchResult;
+import com.enterprise.assistant.api.dto.ConversationRequest;
+import com.enterprise.assistant.api.dto.ConversationResponse;
+import com.enterprise.assistant.api.dto.ErrorResponse;
+import com.enterprise.assistant.config.BatchProperties;
+import com.enterprise.assistant.domain.model.City;
+import com.enterprise.assistant.domain.model.Conversation;
+import com.enterprise.assistant.domain.model.Intent;
+import com.enterprise.assistant.infrastructure.datasource.ReadYourWritesTracker;
+import com.enterprise.assistant.infrastructure.sharding.ShardRouter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Procesa un lote de mensajes como si fueran turnos sueltos, pero agrupando el trabajo:
+ * una consulta por shard para las sesiones conocidas, una llamada a OpenWeather por ciudad
+ * distinta (en paralelo) y una transacción por shard para todos los mensajes. Cada mensaje
+ * tiene su resultado, en el orden del request; un mensaje que falla no afecta a los demás,
+ * salvo un error al persistir, que alcanza a todo su shard.
+ */
+@Service
+public class ConversationBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationBatchService.class);
+
+    private final ConversationService conversationService;
+    private final ConversationPersistenceService persistenceService;
+    private final SessionCache sessionCache;
+    private final SessionTurnLocks sessionTurnLocks;
+    private final ShardRouter shardRouter;
+    private final ReadYourWritesTracker readYourWrites;
+    private final IntentProcessorService intentProcessorService;
+    private final WeatherService weatherService;
+    private final MetricsService metricsService;
+    private final Validator validator;
+    private final BatchProperties properties;
+    private final AsyncTaskExecutor weatherExecutor;
+
+    public ConversationBatchService(ConversationService conversationService,
+                                    ConversationPersistenceService persistenceService,
+                                    SessionCache sessionCache,
+                                    SessionTurnLocks sessionTurnLocks,
+                                    ShardRouter shardRouter,
+                                    ReadYourWritesTracker readYourWrites,
+                                    IntentProcessorService intentProcessorService,
+                                    WeatherService weatherService,
+                                    MetricsService metricsService,
+                                    Validator validator,
+                                    BatchProperties properties,
+                                    @Qualifier("batchWeatherExecutor") AsyncTaskExecutor weatherExecutor) {
+        this.conversationService = conversationService;
+        this.persistenceService = persistenceService;
+        this.sessionCache = sessionCache;
+        this.sessionTurnLocks = sessionTurnLocks;
+        this.shardRouter = shardRouter;
+        this.readYourWrites = readYourWrites;
+        this.intentProcessorService = intentProcessorService;
+        this.weatherService = weatherService;
+        this.metricsService = metricsService;
+        this.validator = validator;
+        this.properties = properties;
+        this.weatherExecutor = weatherExecutor;
+    }
+
+    public ConversationBatchResponse process(List<ConversationRequest> requests) {
+        if (requests.size() > properties.getMaxSize()) {
+            throw new IllegalArgumentException("Batch of " + requests.size()
+                    + " messages exceeds the limit of " + properties.getMaxSize());
+        }
+        log.info("Processing batch of {} messages", requests.size());
+        metricsService.recordBatchSize(requests.size());
+
+        ConversationBatchResult[] results = new ConversationBatchResult[requests.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String errors = validate(requests.get(i));
+            if (errors == null) {
+                valid.add(i);
+            } else {
+                results[i] = failure(i, "Validation Error", errors, 400);
+            }
+        }
+
+        Set<String> sessionIds = valid.stream()
+                .map(i -> requests.get(i).getSessionId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        // Como en un turno suelto: nadie más procesa estas sesiones mientras corre el lote
+        sessionTurnLocks.inOrder(sessionIds, busy -> {
+            List<Integer> admitted = new ArrayList<>();
+            for (int i : valid) {
+                String sessionId = requests.get(i).getSessionId();
+                if (sessionId != null && busy.contains(sessionId)) {
+                    results[i] = failure(i, "Too Many Requests",
+                            "Too many pending messages for session " + sessionId, 429);
+                } else {
+                    admitted.add(i);
+                }
+            }
+            processTurns(requests, admitted, results);
+            return null;
+        });
+
+        long succeeded = Arrays.stream(results).filter(result -> result.getResponse() != null).count();
+        log.info("Batch processed: {} succeeded, {} failed", succeeded, results.length - succeeded);
+        return ConversationBatchResponse.builder()
+                .results(List.of(results))
+                .succeeded((int) succeeded)
+                .failed(results.length - (int) succeeded)
+                .build();
+    }
+
+    private void processTurns(List<ConversationRequest> requests, List<Integer> indexes,
+                              ConversationBatchResult[] results) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        LocalDateTime receivedAt = LocalDateTime.now();
+        Map<Integer, Conversation> conversations = openConversations(requests, indexes);
+
+        Map<Integer, Intent> intents = new HashMap<>();
+        for (int i : indexes) {
+            metricsService.incrementMessagesProcessed();
+            Intent intent = intentProcessorService.detectIntent(requests.get(i).getMessage());
+            metricsService.recordIntentDetected(intent);
+            intents.put(i, intent);
+        }
+        Map<Integer, String> replies = composeReplies(requests, indexes, intents);
+
+        Map<Integer, List<Integer>> byShard = new LinkedHashMap<>();
+        for (int i : indexes) {
+            byShard.computeIfAbsent(shardOf(conversations.get(i).getSessionId()), shard -> new ArrayList<>()).add(i);
+        }
+        byShard.forEach((shard, group) -> {
+            List<ConversationPersistenceService.PendingTurn> pending = group.stream()
+                    .map(i -> new ConversationPersistenceService.PendingTurn(conversations.get(i),
+                            requests.get(i).getMessage(), receivedAt, replies.get(i), intents.get(i).name(),
+                            intents.get(i) == Intent.WEATHER_QUERY ? "OpenWeather" : null))
+                    .toList();
+            try {
+                List<ConversationPersistenceService.CompletedTurn> completed =
+                        shardRouter.onShard(shard, () -> persist(pending));
+                for (int k = 0; k < group.size(); k++) {
+                    ConversationPersistenceService.CompletedTurn turn = completed.get(k);
+                    readYourWrites.recordWrite(turn.conversation().getSessionId());
+                    ConversationResponse response = conversationService.buildResponse(turn.conversation(),
+                            turn.assistantMessage());
+                    results[group.get(k)] = ConversationBatchResult.builder()
+                            .index(group.get(k))
+                            .status(200)
+                            .response(response)
+                            .build();
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to persist {} batch messages on shard {}: {}", group.size(), shard,
+                        e.getMessage(), e);
+                group.forEach(i -> results[i] = failure(i, "Internal Error", "An unexpected error occurred", 500));
+            }
+        });
+    }
+
+    // Una consulta por shard para las sesiones conocidas; los mensajes de una sesión comparten la instancia
+    private Map<Integer, Conversation> openConversations(List<ConversationRequest> requests, List<Integer> indexes) {
+        Map<Integer, Set<String>> sessionsByShard = new LinkedHashMap<>();
+        for (int i : indexes) {
+            String sessionId = requests.get(i).getSessionId();
+            if (sessionId != null) {
+                sessionsByShard.computeIfAbsent(shardOf(sessionId), shard -> new LinkedHashSet<>()).add(sessionId);
+            }
+        }
+        Map<String, Conversation> known = new HashMap<>();
+        sessionsByShard.forEach((shard, sessionIds) ->
+                known.putAll(shardRouter.onShard(shard, () -> sessionCache.findAllBySessionIds(sessionIds))));
+
+        Map<Integer, Conversation> conversations = new HashMap<>();
+        for (int i : indexes) {
+            ConversationRequest request = requests.get(i);
+            String sessionId = request.getSessionId();
+            if (sessionId == null) {
+                conversations.put(i, persistenceService.newConversation(request.getUserId()));
+            } else {
+                // Un sessionId desconocido abre una sola conversación para todos sus mensajes
+                conversations.put(i, known.computeIfAbsent(sessionId,
+                        unknown -> persistenceService.newConversation(request.getUserId())));
+            }
+        }
+        return conversations;
+    }
+
+    // Una llamada a OpenWeather por ciudad distinta, todas en paralelo; el resto de las intenciones no hace I/O
+    private Map<Integer, String> composeReplies(List<ConversationRequest> requests, List<Integer> indexes,
+                                                Map<Integer, Intent> intents) {
+        Map<Integer, String> replies = new HashMap<>();
+        Map<String, City> cities = new HashMap<>();
+        Map<Integer, String> cityOf = new HashMap<>();
+        for (int i : indexes) {
+            String message = requests.get(i).getMessage();
+            City city = intents.get(i) == Intent.WEATHER_QUERY ? resolveCity(message) : null;
+            if (city == null) {
+                replies.put(i, conversationService.generateResponse(intents.get(i), message));
+            } else {
+                String key = weatherService.cacheKey(city);
+                cities.putIfAbsent(key, city);
+                cityOf.put(i, key);
+            }
+        }
+
+        Map<String, CompletableFuture<String>> weather = new HashMap<>();
+        cities.forEach((key, city) -> weather.put(key,
+                CompletableFuture.supplyAsync(() -> conversationService.weatherReply(city), weatherExecutor)));
+        if (!weather.isEmpty()) {
+            log.debug("Fetching weather for {} distinct cities", weather.size());
+        }
+        // weatherReply no lanza: si OpenWeather falla devuelve la disculpa
+        cityOf.forEach((i, key) -> replies.put(i, weather.get(key).join()));
+        return replies;
+    }
+
+    private City resolveCity(String message) {
+        try {
+            return intentProcessorService.resolveCity(message);
+        } catch (Exception e) {
+            // generateResponse vuelve a intentarlo y responde la disculpa
+            return null;
+        }
+    }
+
+    private List<ConversationPersistenceService.CompletedTurn> persist(
+            List<ConversationPersistenceService.PendingTurn> pending) {
+        if (!persistenceService.isWriteBehind()) {
+            return persistenceService.completeTurns(pending);
+        }
+        return pending.stream()
+                .map(turn -> persistenceService.journalTurn(turn.conversation(), turn.userContent(),
+                        turn.receivedAt(), turn.content(), turn.intent(), turn.externalService()))
+                .toList();
+    }
+
+    private int shardOf(String sessionId) {
+        return shardRouter.isSharded() ? shardRouter.shardFor(sessionId) : 0;
+    }
+
+    private String validate(ConversationRequest request) {
+        if (request == null) {
+            return "Message cannot be null";
+        }
+        Set<ConstraintViolation<ConversationRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static ConversationBatchResult failure(int index, String error, String message, int status) {
+        return ConversationBatchResult.builder()
+                .index(index)
+                .status(status)
+                .error(ErrorResponse.builder()
+                        .error(error)
+                        .message(message)
+                        .status(status)
+                        .timestamp(LocalDateTime.now())
+                        .build())
+                .build();
+    }
+}
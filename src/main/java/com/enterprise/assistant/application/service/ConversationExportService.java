@@ -0,0 +1,289 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.api.dto.ConversationExportLine;
+import com.enterprise.assistant.config.ExportProperties;
+import com.enterprise.assistant.domain.model.ConversationStatus;
+import com.enterprise.assistant.domain.model.MessageRole;
+import com.enterprise.assistant.infrastructure.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Exporta conversaciones y mensajes como NDJSON. Las filas se leen con un cursor JDBC de
+ * solo avance y se escriben a medida que llegan, así la memoria no depende del volumen.
+ * Con sharding cada shard se lee en paralelo hacia una cola acotada y las conversaciones
+ * se intercalan enteras en la salida.
+ */
+@Service
+public class ConversationExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationExportService.class);
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final int SHARD_QUEUE_CAPACITY = 1024;
+    // Marcadores en las colas por shard; se comparan por identidad
+    private static final byte[] CONVERSATION_END = new byte[0];
+    private static final byte[] SHARD_END = new byte[0];
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter lineWriter;
+    private final ExportProperties properties;
+    private final ShardRouter shardRouter;
+
+    public ConversationExportService(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                     ObjectMapper objectMapper, ExportProperties properties,
+                                     ShardRouter shardRouter) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.lineWriter = objectMapper.writerFor(ConversationExportLine.class);
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Escribe el export en {@code out} sin cerrarlo. Devuelve la cantidad de mensajes exportados.
+     */
+    public long export(ExportFilter filter, OutputStream out) {
+        long start = System.nanoTime();
+        BufferedOutputStream buffer = new BufferedOutputStream(out, OUTPUT_BUFFER_SIZE);
+        long exported;
+        try {
+            exported = shardRouter.isSharded()
+                    ? exportShards(filter, buffer)
+                    : exportShard(filter, new StreamSink(buffer));
+            buffer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Exported {} messages in {} ms", exported, (System.nanoTime() - start) / 1_000_000);
+        return exported;
+    }
+
+    private long exportShards(ExportFilter filter, OutputStream out) throws IOException {
+        List<BlockingQueue<byte[]>> queues = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            queues.add(new ArrayBlockingQueue<>(SHARD_QUEUE_CAPACITY));
+        }
+        List<Future<Long>> workers = shardRouter.submitToEachShard(shard -> {
+            BlockingQueue<byte[]> queue = queues.get(shard);
+            try {
+                return exportShard(filter, new QueueSink(queue));
+            } finally {
+                try {
+                    queue.put(SHARD_END);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        try {
+            mergeConversations(queues, out);
+            long exported = 0;
+            for (Future<Long> worker : workers) {
+                exported += worker.get();
+            }
+            return exported;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Shard export failed", e.getCause());
+        } finally {
+            // Si la escritura falló (cliente desconectado), los lectores no deben quedar bloqueados en su cola
+            workers.forEach(worker -> worker.cancel(true));
+        }
+    }
+
+    // Toma una conversación completa de cada shard por turno, para que sus líneas queden juntas
+    private static void mergeConversations(List<BlockingQueue<byte[]>> queues, OutputStream out)
+            throws IOException, InterruptedException {
+        boolean[] finished = new boolean[queues.size()];
+        int remaining = queues.size();
+        int shard = 0;
+        while (remaining > 0) {
+            if (!finished[shard]) {
+                byte[] line;
+                while ((line = queues.get(shard).take()) != CONVERSATION_END) {
+                    if (line == SHARD_END) {
+                        finished[shard] = true;
+                        remaining--;
+                        break;
+                    }
+                    out.write(line);
+                    out.write('\n');
+                }
+            }
+            shard = (shard + 1) % queues.size();
+        }
+    }
+
+    private long exportShard(ExportFilter filter, LineSink sink) {
+        // PostgreSQL sólo respeta el fetch size dentro de una transacción (sin autocommit)
+        return readOnlyTransaction.execute(status -> {
+            try {
+                return streamRows(filter, sink);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private long streamRows(ExportFilter filter, LineSink sink) throws IOException {
+        Session session = entityManager.unwrap(Session.class);
+        Query<Object[]> query = session.createQuery(buildQuery(filter), Object[].class)
+                .setFetchSize(properties.getFetchSize())
+                .setReadOnly(true);
+        if (filter.from() != null) {
+            query.setParameter("from", filter.from());
+        }
+        if (filter.to() != null) {
+            query.setParameter("to", filter.to());
+        }
+        if (filter.status() != null) {
+            query.setParameter("status", filter.status());
+        }
+
+        long rows = 0;
+        long messages = 0;
+        Long currentConversation = null;
+        try (ScrollableResults<Object[]> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                Object[] row = results.get();
+                Long conversationId = (Long) row[0];
+                if (!Objects.equals(conversationId, currentConversation)) {
+                    if (currentConversation != null) {
+                        sink.endConversation();
+                    }
+                    currentConversation = conversationId;
+                    sink.line(lineWriter.writeValueAsBytes(conversationLine(row)));
+                }
+                // Conversación sin mensajes: el left join trae una sola fila con las columnas del mensaje en null
+                if (row[6] != null) {
+                    sink.line(lineWriter.writeValueAsBytes(messageLine(row)));
+                    messages++;
+                }
+                if (++rows % properties.getFetchSize() == 0) {
+                    session.clear();
+                }
+            }
+        }
+        if (currentConversation != null) {
+            sink.endConversation();
+        }
+        return messages;
+    }
+
+    private static String buildQuery(ExportFilter filter) {
+        StringBuilder jpql = new StringBuilder("""
+                select c.id, c.sessionId, c.userId, c.status, c.startedAt, c.endedAt,
+                       m.role, m.content, m.intent, m.timestamp, m.externalServiceUsed
+                from Conversation c left join c.messages m
+                where 1 = 1
+                """);
+        if (filter.from() != null) {
+            jpql.append(" and c.startedAt >= :from");
+        }
+        if (filter.to() != null) {
+            jpql.append(" and c.startedAt < :to");
+        }
+        if (filter.status() != null) {
+            jpql.append(" and c.status = :status");
+        }
+        return jpql.append(" order by c.id, m.timestamp, m.id").toString();
+    }
+
+    private static ConversationExportLine conversationLine(Object[] row) {
+        return ConversationExportLine.builder()
+                .type(ConversationExportLine.CONVERSATION)
+                .sessionId((String) row[1])
+                .userId((String) row[2])
+                .status((ConversationStatus) row[3])
+                .startedAt((LocalDateTime) row[4])
+                .endedAt((LocalDateTime) row[5])
+                .build();
+    }
+
+    private static ConversationExportLine messageLine(Object[] row) {
+        return ConversationExportLine.builder()
+                .type(ConversationExportLine.MESSAGE)
+                .sessionId((String) row[1])
+                .role(((MessageRole) row[6]).name())
+                .content((String) row[7])
+                .intent((String) row[8])
+                .timestamp((LocalDateTime) row[9])
+                .externalServiceUsed((String) row[10])
+                .build();
+    }
+
+    private interface LineSink {
+
+        void line(byte[] json) throws IOException;
+
+        void endConversation() throws IOException;
+    }
+
+    private record StreamSink(OutputStream out) implements LineSink {
+
+        @Override
+        public void line(byte[] json) throws IOException {
+            out.write(json);
+            out.write('\n');
+        }
+
+        @Override
+        public void endConversation() {
+        }
+    }
+
+    private record QueueSink(BlockingQueue<byte[]> queue) implements LineSink {
+
+        @Override
+        public void line(byte[] json) throws IOException {
+            put(json);
+        }
+
+        @Override
+        public void endConversation() throws IOException {
+            put(CONVERSATION_END);
+        }
+
+        private void put(byte[] item) throws IOException {
+            try {
+                queue.put(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Export cancelled");
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.api.dto.ConversationRequest;
+import com.enterprise.assistant.domain.model.Conversation;
+import com.enterprise.assistant.domain.model.ConversationStatus;
+import com.enterprise.assistant.domain.model.Message;
+import com.enterprise.assistant.domain.model.MessageRole;
+import com.enterprise.assistant.domain.model.SessionIds;
+import com.enterprise.assistant.domain.repository.ConversationRepository;
+import com.enterprise.assistant.domain.repository.MessageRepository;
+import com.enterprise.assistant.infrastructure.journal.MessageJournal;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class ConversationPersistenceService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationPersistenceService.class);
+
+    private final ConversationRepository conversationRepository;
+    private final MessageRepository messageRepository;
+    private final MetricsService metricsService;
+    private final MessageJournal messageJournal;
+    private final SessionCache sessionCache;
+
+    /**
+     * Busca la conversación de la sesión o prepara una nueva sin persistirla todavía;
+     * la inserción queda para {@link #completeTurn}. Las sesiones conocidas salen del
+     * {@link SessionCache} sin consultar la base.
+     */
+    public Conversation openTurn(ConversationRequest request) {
+        return getOrCreateConversation(request);
+    }
+
+    /**
+     * Persiste la conversación (si es nueva) y los dos mensajes del turno en una sola
+     * transacción, para que Hibernate los envíe juntos en batch al hacer commit.
+     */
+    @Transactional
+    public CompletedTurn completeTurn(Conversation conversation, String userContent, LocalDateTime receivedAt,
+                                      String content, String intent, String externalService) {
+        boolean existing = conversation.getId() != null;
+        if (!existing) {
+            // Conversación nueva: el contador va en el mismo INSERT
+            conversation.setMessageCount(2);
+        }
+        Conversation persisted = persistIfNew(conversation);
+        Message assistantMessage = assistantMessage(persisted, content, intent, externalService);
+
+        messageRepository.save(userMessage(persisted, userContent, receivedAt));
+        Message saved = messageRepository.save(assistantMessage);
+        if (existing) {
+            conversationRepository.recordMessages(persisted.getId(), 2, saved.getTimestamp());
+        }
+        return new CompletedTurn(persisted, saved);
+    }
+
+    /**
+     * Variante de {@link #completeTurn} para un lote: todos los turnos en una transacción,
+     * los mensajes con un solo {@code saveAll} (insertados en batch) y un único incremento
+     * de contadores por conversación. Los turnos de una misma sesión deben compartir la
+     * instancia de {@link Conversation}. Devuelve los turnos en el mismo orden.
+     */
+    @Transactional
+    public List<CompletedTurn> completeTurns(List<PendingTurn> turns) {
+        Map<Conversation, Integer> turnsPerConversation = new IdentityHashMap<>();
+        turns.forEach(turn -> turnsPerConversation.merge(turn.conversation(), 1, Integer::sum));
+        Set<Conversation> existing = Collections.newSetFromMap(new IdentityHashMap<>());
+        turnsPerConversation.keySet().stream().filter(conversation -> conversation.getId() != null)
+                .forEach(existing::add);
+
+        Map<Conversation, LocalDateTime> lastReply = new IdentityHashMap<>();
+        List<Message> messages = new ArrayList<>(turns.size() * 2);
+        List<CompletedTurn> completed = new ArrayList<>(turns.size());
+        for (PendingTurn turn : turns) {
+            Conversation conversation = turn.conversation();
+            if (conversation.getId() == null) {
+                conversation.setMessageCount(2 * turnsPerConversation.get(conversation));
+                persistIfNew(conversation);
+            }
+            // Varios turnos de una sesión: cada mensaje no puede quedar antes de la respuesta anterior
+            LocalDateTime previous = lastReply.get(conversation);
+            LocalDateTime receivedAt = previous != null && previous.isAfter(turn.receivedAt())
+                    ? previous : turn.receivedAt();
+            Message assistantMessage = assistantMessage(conversation, turn.content(), turn.intent(),
+                    turn.externalService());
+            messages.add(userMessage(conversation, turn.userContent(), receivedAt));
+            messages.add(assistantMessage);
+            lastReply.put(conversation, assistantMessage.getTimestamp());
+            completed.add(new CompletedTurn(conversation, assistantMessage));
+        }
+        messageRepository.saveAll(messages);
+        existing.forEach(conversation -> conversationRepository.recordMessages(conversation.getId(),
+                2 * turnsPerConversation.get(conversation), lastReply.get(conversation)));
+        return completed;
+    }
+
+    public boolean isWriteBehind() {
+        return messageJournal.isEnabled();
+    }
+
+    /**
+     * Variante write-behind de {@link #completeTurn}: solo la conversación nueva se inserta
+     * en el momento; los mensajes se registran en el journal y se escriben en la base más
+     * tarde. Si el journal no los acepta se guardan en forma sincrónica.
+     */
+    public CompletedTurn journalTurn(Conversation conversation, String userContent, LocalDateTime receivedAt,
+                                     String content, String intent, String externalService) {
+        Conversation persisted = persistIfNew(conversation);
+        List<Message> messages = List.of(
+                userMessage(persisted, userContent, receivedAt),
+                assistantMessage(persisted, content, intent, externalService));
+
+        if (!messageJournal.append(messages)) {
+            messageRepository.saveAll(messages);
+        }
+        return new CompletedTurn(persisted, messages.get(1));
+    }
+
+    private Conversation persistIfNew(Conversation conversation) {
+        if (conversation.getId() != null) {
+            return conversation;
+        }
+        Conversation persisted = conversationRepository.save(conversation);
+        sessionCache.put(persisted);
+        metricsService.incrementConversationsCreated();
+        return persisted;
+    }
+
+    private Message userMessage(Conversation conversation, String content, LocalDateTime receivedAt) {
+        return Message.builder()
+                .conversation(conversation)
+                .role(MessageRole.USER)
+                .content(content)
+                .timestamp(receivedAt)
+                .build();
+    }
+
+    private Message assistantMessage(Conversation conversation, String content, String intent,
+                                     String externalService) {
+        return Message.builder()
+                .conversation(conversation)
+                .role(MessageRole.ASSISTANT)
+                .content(content)
+                .intent(intent)
+                .externalServiceUsed(externalService)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private Conversation getOrCreateConversation(ConversationRequest request) {
+        if (request.getSessionId() != null) {
+            return sessionCache.findBySessionId(request.getSessionId())
+                    .orElseGet(() -> newConversation(request.getUserId()));
+        }
+        return newConversation(request.getUserId());
+    }
+
+    /**
+     * Conversación nueva con un sessionId recién generado, sin persistir.
+     */
+    public Conversation newConversation(String userId) {
+        String sessionId = SessionIds.newSessionId();
+        log.info("Creating new conversation for userId: {}, sessionId: {}", userId, sessionId);
+
+        return Conversation.builder()
+                .sessionId(sessionId)
+                .userId(userId)
+                .status(ConversationStatus.ACTIVE)
+                .build();
+    }
+
+    public record CompletedTurn(Conversation conversation, Message assistantMessage) {
+    }
+
+    public record PendingTurn(Conversation conversation, String userContent, LocalDateTime receivedAt,
+                              String content, String intent, String externalService) {
+    }
+}
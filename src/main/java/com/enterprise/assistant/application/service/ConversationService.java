@@ -3,25 +3,28 @@ package com.enterprise.assistant.application.service;
 import com.enterprise.assistant.api.dto.ConversationHistoryResponse;
 import com.enterprise.assistant.api.dto.ConversationRequest;
 import com.enterprise.assistant.api.dto.ConversationResponse;
+import com.enterprise.assistant.domain.model.City;
 import com.enterprise.assistant.domain.model.Conversation;
 import com.enterprise.assistant.domain.model.ConversationStatus;
 import com.enterprise.assistant.domain.model.Message;
-import com.enterprise.assistant.domain.model.MessageRole;
 import com.enterprise.assistant.domain.repository.ConversationRepository;
 import com.enterprise.assistant.domain.repository.MessageRepository;
-import com.enterprise.assistant.infrastructure.external.WeatherApiClient;
+import com.enterprise.assistant.domain.repository.MessageView;
+import com.enterprise.assistant.infrastructure.datasource.ReadYourWritesTracker;
 import com.enterprise.assistant.infrastructure.external.dto.WeatherResponse;
+import com.enterprise.assistant.infrastructure.sharding.ShardRouter;
 import com.enterprise.assistant.domain.model.Intent;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -29,92 +32,108 @@ public class ConversationService {
 
     private static final Logger log = LoggerFactory.getLogger(ConversationService.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String WEATHER_UNAVAILABLE =
+            "Lo siento, no pude obtener la informacion del clima en este momento. Por favor, intenta nuevamente mas tarde.";
+
     private final ConversationRepository conversationRepository;
     private final MessageRepository messageRepository;
+    private final ConversationPersistenceService persistenceService;
+    private final SessionCache sessionCache;
+    private final ReadYourWritesTracker readYourWrites;
+    private final ShardRouter shardRouter;
+    private final ConversationArchiveService archiveService;
+    private final SessionTurnLocks sessionTurnLocks;
     private final IntentProcessorService intentProcessorService;
-    private final WeatherApiClient weatherApiClient;
+    private final WeatherService weatherService;
     private final MetricsService metricsService;
 
-    @Transactional
+    // Sin @Transactional: la conversación se busca antes y el turno se persiste al final en una
+    // transacción corta, para no retener una conexión JDBC mientras se espera a OpenWeather
     public ConversationResponse processMessage(ConversationRequest request) {
+        return processMessage(request, TurnObserver.NONE);
+    }
+
+    /**
+     * Igual que {@link #processMessage(ConversationRequest)}, avisando a {@code observer}
+     * la intención y la respuesta apenas están listas, antes de persistir el turno.
+     */
+    public ConversationResponse processMessage(ConversationRequest request, TurnObserver observer) {
+        // Un turno por vez en cada sesión: dos mensajes simultáneos no pueden ver la conversación a medias
+        return sessionTurnLocks.inOrder(request.getSessionId(), () -> processTurn(request, observer));
+    }
+
+    /**
+     * Turno sobre una conversación que el llamador ya tiene resuelta (canal WebSocket), sin
+     * volver a buscarla. Si la conversación era nueva, queda insertada en la misma instancia.
+     */
+    public ConversationResponse processMessage(Conversation conversation, String message) {
+        return sessionTurnLocks.inOrder(conversation.getSessionId(), () -> {
+            log.info("Processing message for userId: {}, sessionId: {}",
+                    conversation.getUserId(), conversation.getSessionId());
+            ConversationPersistenceService.CompletedTurn turn =
+                    runTurn(conversation, message, TurnObserver.NONE, metricsService.startTimer());
+            return buildResponse(turn.conversation(), turn.assistantMessage());
+        });
+    }
+
+    /**
+     * Conversación de {@code sessionId}, o una nueva sin persistir si no existe o es null,
+     * para atarla a un canal que después la usa en {@link #processMessage(Conversation, String)}.
+     */
+    public Conversation bindConversation(String sessionId, String userId) {
+        ConversationRequest request = ConversationRequest.builder()
+                .sessionId(sessionId)
+                .userId(userId)
+                .build();
+        return shardRouter.onSession(sessionId, () -> persistenceService.openTurn(request));
+    }
+
+    private ConversationResponse processTurn(ConversationRequest request, TurnObserver observer) {
         log.info("Processing message for userId: {}, sessionId: {}",
                 request.getUserId(), request.getSessionId());
 
         Timer.Sample sample = metricsService.startTimer();
-        metricsService.incrementMessagesProcessed();
+        Conversation conversation = shardRouter.onSession(request.getSessionId(),
+                () -> persistenceService.openTurn(request));
 
-        Conversation conversation = getOrCreateConversation(request);
+        ConversationPersistenceService.CompletedTurn turn = runTurn(conversation, request.getMessage(), observer, sample);
+        return buildResponse(turn.conversation(), turn.assistantMessage());
+    }
 
-        saveUserMessage(conversation, request.getMessage());
+    private ConversationPersistenceService.CompletedTurn runTurn(Conversation conversation, String message,
+                                                                 TurnObserver observer, Timer.Sample sample) {
+        metricsService.incrementMessagesProcessed();
+        LocalDateTime receivedAt = LocalDateTime.now();
 
-        Intent intent = intentProcessorService.detectIntent(request.getMessage());
+        Intent intent = intentProcessorService.detectIntent(message);
         log.debug("Intent detected: {}", intent);
         metricsService.recordIntentDetected(intent);
+        observer.intentDetected(conversation.getSessionId(), intent);
 
-        String responseText = generateResponse(intent, request.getMessage());
+        String responseText = generateResponse(intent, message);
         String externalService = intent == Intent.WEATHER_QUERY ? "OpenWeather" : null;
+        observer.replyReady(responseText, externalService);
 
-        Message assistantMessage = saveAssistantMessage(
-                conversation,
-                responseText,
-                intent.name(),
-                externalService
-        );
+        // La conversación puede ser nueva: su shard sale del sessionId recién generado
+        ConversationPersistenceService.CompletedTurn turn = shardRouter.onSession(conversation.getSessionId(),
+                () -> persistenceService.isWriteBehind()
+                        ? persistenceService.journalTurn(conversation, message, receivedAt,
+                                responseText, intent.name(), externalService)
+                        : persistenceService.completeTurn(conversation, message, receivedAt,
+                                responseText, intent.name(), externalService));
 
+        readYourWrites.recordWrite(turn.conversation().getSessionId());
         metricsService.recordResponseTime(sample, intent);
 
         log.info("Message processed successfully. SessionId: {}, Intent: {}",
-                conversation.getSessionId(), intent);
-
-        return buildResponse(conversation, assistantMessage);
-    }
-
-    private Conversation getOrCreateConversation(ConversationRequest request) {
-        if (request.getSessionId() != null) {
-            return conversationRepository.findBySessionId(request.getSessionId())
-                    .orElseGet(() -> createNewConversation(request.getUserId()));
-        }
-        return createNewConversation(request.getUserId());
-    }
-
-    private Conversation createNewConversation(String userId) {
-        String sessionId = UUID.randomUUID().toString();
-        log.info("Creating new conversation for userId: {}, sessionId: {}", userId, sessionId);
-
-        Conversation conversation = Conversation.builder()
-                .sessionId(sessionId)
-                .userId(userId)
-                .status(ConversationStatus.ACTIVE)
-                .build();
-
-        metricsService.incrementConversationsCreated();
-        return conversationRepository.save(conversation);
+                turn.conversation().getSessionId(), intent);
+        return turn;
     }
 
-    private void saveUserMessage(Conversation conversation, String content) {
-        Message userMessage = Message.builder()
-                .conversation(conversation)
-                .role(MessageRole.USER)
-                .content(content)
-                .build();
-
-        messageRepository.save(userMessage);
-    }
-
-    private Message saveAssistantMessage(Conversation conversation, String content,
-                                         String intent, String externalService) {
-        Message assistantMessage = Message.builder()
-                .conversation(conversation)
-                .role(MessageRole.ASSISTANT)
-                .content(content)
-                .intent(intent)
-                .externalServiceUsed(externalService)
-                .build();
-
-        return messageRepository.save(assistantMessage);
-    }
-
-    private String generateResponse(Intent intent, String userMessage) {
+    // Sin I/O salvo en WEATHER_QUERY, que consulta OpenWeather
+    String generateResponse(Intent intent, String userMessage) {
         return switch (intent) {
             case WEATHER_QUERY -> handleWeatherQuery(userMessage);
             case GREETING -> "Hola! Soy tu asistente virtual. Puedo ayudarte con informacion del clima. En que ciudad te gustaria consultar?";
@@ -124,21 +143,27 @@ public class ConversationService {
         };
     }
 
-    // TODO: implementar cache con TTL para reducir llamadas a OpenWeather API (rate limit: 60/min)
     private String handleWeatherQuery(String userMessage) {
+        City city;
         try {
-            String city = intentProcessorService.extractCity(userMessage);
-            log.debug("Extracted city from message: {}", city);
+            city = intentProcessorService.resolveCity(userMessage);
+            log.debug("Extracted city from message: {}", city.name());
+        } catch (Exception e) {
+            log.error("Error fetching weather data: {}", e.getMessage());
+            return WEATHER_UNAVAILABLE;
+        }
+        return weatherReply(city);
+    }
 
-            metricsService.incrementExternalApiCall();
-            WeatherResponse weather = weatherApiClient.getCurrentWeather(city);
+    String weatherReply(City city) {
+        try {
+            WeatherResponse weather = weatherService.getCurrentWeather(city);
 
             return formatWeatherResponse(weather);
 
         } catch (Exception e) {
             log.error("Error fetching weather data: {}", e.getMessage());
-            metricsService.recordExternalApiFailure();
-            return "Lo siento, no pude obtener la informacion del clima en este momento. Por favor, intenta nuevamente mas tarde.";
+            return WEATHER_UNAVAILABLE;
         }
     }
 
@@ -150,7 +175,7 @@ public class ConversationService {
                 weather.getName(), weather.getMain().getTemp(), conditions, weather.getMain().getHumidity());
     }
 
-    private ConversationResponse buildResponse(Conversation conversation, Message message) {
+    ConversationResponse buildResponse(Conversation conversation, Message message) {
         return ConversationResponse.builder()
                 .sessionId(conversation.getSessionId())
                 .message(message.getContent())
@@ -165,32 +190,77 @@ public class ConversationService {
     public void endConversation(String sessionId) {
         log.info("Ending conversation with sessionId: {}", sessionId);
 
-        Conversation conversation = conversationRepository.findBySessionId(sessionId)
-                .orElseThrow(() -> new IllegalArgumentException("Conversation not found: " + sessionId));
+        shardRouter.onSession(sessionId, () -> {
+            Conversation conversation = conversationRepository.findBySessionId(sessionId)
+                    .orElseThrow(() -> new IllegalArgumentException("Conversation not found: " + sessionId));
 
-        conversation.setStatus(ConversationStatus.COMPLETED);
-        conversation.setEndedAt(LocalDateTime.now());
-        conversationRepository.save(conversation);
+            conversation.setStatus(ConversationStatus.COMPLETED);
+            conversation.setEndedAt(LocalDateTime.now());
+            conversationRepository.save(conversation);
+            sessionCache.invalidate(sessionId);
+            readYourWrites.recordWrite(sessionId);
 
-        metricsService.decrementActiveConversations();
+            metricsService.decrementActiveConversations();
 
-        log.info("Conversation ended successfully. SessionId: {}, Messages: {}",
-                sessionId, conversation.getMessages().size());
+            log.info("Conversation ended successfully. SessionId: {}, Messages: {}",
+                    sessionId, conversation.getMessageCount());
+        });
     }
 
+    /**
+     * Devuelve una página del historial ordenada por (timestamp, id). {@code cursor} es el
+     * {@code nextCursor} de la página anterior, o null para empezar desde el principio.
+     */
     @Transactional(readOnly = true)
-    public ConversationHistoryResponse getConversationHistoryDto(String sessionId) {
-        Conversation conversation = conversationRepository.findBySessionId(sessionId)
-                .orElseThrow(() -> new IllegalArgumentException("Conversation not found: " + sessionId));
+    public ConversationHistoryResponse getConversationHistoryDto(String sessionId, String cursor, Integer limit) {
+        // Con réplicas de lectura: si la sesión acaba de escribir, se lee del primario
+        readYourWrites.routeReadsFor(sessionId);
+        return shardRouter.onSession(sessionId, () -> readHistoryPage(sessionId, cursor, limit));
+    }
 
-        List<ConversationHistoryResponse.MessageDto> messageDtos = conversation.getMessages()
-                .stream()
+    private ConversationHistoryResponse readHistoryPage(String sessionId, String cursor, Integer limit) {
+        // Directo de la base y no del SessionCache: los contadores cambian en cada turno
+        Optional<Conversation> live = conversationRepository.findBySessionId(sessionId);
+        int pageSize = pageSize(limit);
+        HistoryCursor after = cursor == null || cursor.isBlank() ? null : HistoryCursor.decode(cursor);
+        if (live.isEmpty()) {
+            return archiveService.findBySessionId(sessionId)
+                    .map(archived -> archivedHistoryPage(archived, after, pageSize))
+                    .orElseThrow(() -> new IllegalArgumentException("Conversation not found: " + sessionId));
+        }
+        Conversation conversation = live.get();
+
+        // Se pide un mensaje de más para saber si hay otra página sin hacer un count
+        Limit fetch = Limit.of(pageSize + 1);
+        List<MessageView> rows = after == null
+                ? messageRepository.findFirstPage(conversation.getId(), fetch)
+                : messageRepository.findPageAfter(conversation.getId(), after.timestamp(), after.id(), fetch);
+        return historyPage(conversation, rows, pageSize);
+    }
+
+    // Archivada: los mensajes vienen todos juntos y la página se arma en memoria
+    private ConversationHistoryResponse archivedHistoryPage(ConversationArchiveService.ArchivedHistory archived,
+                                                            HistoryCursor after, int pageSize) {
+        List<MessageView> rows = archived.messages().stream()
+                .filter(msg -> after == null || msg.timestamp().isAfter(after.timestamp())
+                        || (msg.timestamp().isEqual(after.timestamp()) && msg.id() > after.id()))
+                .limit(pageSize + 1L)
+                .toList();
+        return historyPage(archived.conversation(), rows, pageSize);
+    }
+
+    private ConversationHistoryResponse historyPage(Conversation conversation, List<MessageView> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<MessageView> page = hasMore ? rows.subList(0, pageSize) : rows;
+        MessageView last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        List<ConversationHistoryResponse.MessageDto> messageDtos = page.stream()
                 .map(msg -> ConversationHistoryResponse.MessageDto.builder()
-                        .role(msg.getRole().name())
-                        .content(msg.getContent())
-                        .intent(msg.getIntent())
-                        .timestamp(msg.getTimestamp())
-                        .externalServiceUsed(msg.getExternalServiceUsed())
+                        .role(msg.role().name())
+                        .content(msg.content())
+                        .intent(msg.intent())
+                        .timestamp(msg.timestamp())
+                        .externalServiceUsed(msg.externalServiceUsed())
                         .build())
                 .toList();
 
@@ -200,7 +270,20 @@ public class ConversationService {
                 .status(conversation.getStatus())
                 .startedAt(conversation.getStartedAt())
                 .endedAt(conversation.getEndedAt())
+                .messageCount(conversation.getMessageCount())
+                .lastMessageAt(conversation.getLastActivityAt())
                 .messages(messageDtos)
+                .nextCursor(hasMore ? new HistoryCursor(last.timestamp(), last.id()).encode() : null)
                 .build();
     }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
 }
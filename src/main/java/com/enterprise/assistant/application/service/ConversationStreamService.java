@@ -0,0 +1,50 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.api.dto.ConversationRequest;
+import com.enterprise.assistant.api.dto.ConversationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Procesa un turno fuera del hilo del request, con el mismo pipeline que
+ * {@link ConversationService#processMessage}, y publica cada paso en un {@link Listener}.
+ */
+@Service
+public class ConversationStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationStreamService.class);
+
+    private final ConversationService conversationService;
+    private final AsyncTaskExecutor streamExecutor;
+
+    public ConversationStreamService(ConversationService conversationService,
+                                     @Qualifier("conversationStreamExecutor") AsyncTaskExecutor streamExecutor) {
+        this.conversationService = conversationService;
+        this.streamExecutor = streamExecutor;
+    }
+
+    /**
+     * Encola el turno y vuelve enseguida. Con el executor lleno lanza
+     * {@link org.springframework.core.task.TaskRejectedException} antes de emitir nada.
+     */
+    public void stream(ConversationRequest request, Listener listener) {
+        streamExecutor.execute(() -> {
+            try {
+                listener.persisted(conversationService.processMessage(request, listener));
+            } catch (RuntimeException e) {
+                log.warn("Streamed turn failed for sessionId: {}. Error: {}", request.getSessionId(), e.getMessage());
+                listener.failed(e);
+            }
+        });
+    }
+
+    public interface Listener extends TurnObserver {
+
+        void persisted(ConversationResponse response);
+
+        void failed(RuntimeException error);
+    }
+}
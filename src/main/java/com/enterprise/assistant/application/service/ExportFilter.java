@@ -0,0 +1,18 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.domain.model.ConversationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conversaciones a exportar: iniciadas en {@code [from, to)} y con el estado dado.
+ * Cualquier campo null no filtra.
+ */
+public record ExportFilter(LocalDateTime from, LocalDateTime to, ConversationStatus status) {
+
+    public ExportFilter {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.config.ReaperProperties;
+import com.enterprise.assistant.domain.model.Conversation;
+import com.enterprise.assistant.domain.model.ConversationStatus;
+import com.enterprise.assistant.domain.repository.ConversationRepository;
+import com.enterprise.assistant.infrastructure.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finaliza las conversaciones que los clientes dejaron abiertas: las ACTIVE sin mensajes
+ * durante {@code app.reaper.idle-timeout} pasan a COMPLETED con un UPDATE por lote. Los
+ * lotes se toman con SKIP LOCKED, así varias instancias pueden correrlo a la vez sin
+ * procesar las mismas filas. Al terminar, el gauge {@code conversations.active} se
+ * recalcula desde la base.
+ */
+@Component
+public class IdleConversationReaper implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(IdleConversationReaper.class);
+
+    private final ReaperProperties properties;
+    private final ConversationRepository conversationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SessionCache sessionCache;
+    private final ShardRouter shardRouter;
+    private final MetricsService metricsService;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public IdleConversationReaper(ReaperProperties properties, ConversationRepository conversationRepository,
+                                  PlatformTransactionManager transactionManager, SessionCache sessionCache,
+                                  ShardRouter shardRouter, MetricsService metricsService) {
+        this.properties = properties;
+        this.conversationRepository = conversationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sessionCache = sessionCache;
+        this.shardRouter = shardRouter;
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long interval = properties.getInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "conversation-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reapSafely, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (running) {
+            running = false;
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void reapSafely() {
+        try {
+            reap();
+        } catch (RuntimeException e) {
+            log.error("Idle conversation reaper failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Una pasada sobre todos los shards. Devuelve cuántas conversaciones finalizó.
+     */
+    int reap() {
+        LocalDateTime idleSince = LocalDateTime.now().minus(properties.getIdleTimeout());
+        int closed = 0;
+        long active = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            closed += shardRouter.onShard(shard, () -> reapShard(idleSince));
+            active += shardRouter.onShard(shard, () -> conversationRepository.countByStatus(ConversationStatus.ACTIVE));
+        }
+        if (closed > 0) {
+            log.info("Completed {} conversations idle since {}", closed, idleSince);
+            metricsService.recordConversationsReaped(closed);
+        }
+        metricsService.reconcileActiveConversations(active);
+        return closed;
+    }
+
+    private int reapShard(LocalDateTime idleSince) {
+        int closed = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> reapBatch(idleSince));
+            closed += batch;
+        } while (batch == properties.getBatchSize());
+        return closed;
+    }
+
+    private int reapBatch(LocalDateTime idleSince) {
+        List<Conversation> idle = conversationRepository.findIdle(idleSince, Limit.of(properties.getBatchSize()));
+        if (idle.isEmpty()) {
+            return 0;
+        }
+        conversationRepository.completeAll(idle.stream().map(Conversation::getId).toList(), LocalDateTime.now());
+        idle.forEach(conversation -> sessionCache.invalidate(conversation.getSessionId()));
+        return idle.size();
+    }
+}
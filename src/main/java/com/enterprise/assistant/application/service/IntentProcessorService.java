@@ -1,13 +1,23 @@
 package com.enterprise.assistant.application.service;
 
+import com.enterprise.assistant.application.nlp.CityGazetteer;
+import com.enterprise.assistant.application.nlp.KeywordAutomaton;
 import com.enterprise.assistant.config.WeatherApiProperties;
+import com.enterprise.assistant.domain.model.City;
 import com.enterprise.assistant.domain.model.Intent;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.util.regex.Pattern;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -16,73 +26,161 @@ public class IntentProcessorService {
     private static final Logger log = LoggerFactory.getLogger(IntentProcessorService.class);
 
     private final WeatherApiProperties weatherApiProperties;
+    private final CityGazetteer cityGazetteer;
 
-    private static final Pattern WEATHER_PATTERN = Pattern.compile(
-            ".*(clima|temperatura|tiempo|pronóstico|llover|lluvia|frío|calor|grados).*",
-            Pattern.CASE_INSENSITIVE);
+    // Orden = prioridad: GREETING > FAREWELL > HELP > WEATHER_QUERY
+    private static final Intent[] INTENT_PRIORITY = {
+            Intent.GREETING, Intent.FAREWELL, Intent.HELP, Intent.WEATHER_QUERY
+    };
 
-    private static final Pattern GREETING_PATTERN = Pattern.compile(
-            ".*(hola|buenos días|buenas tardes|buenas noches|saludos|qué tal).*",
-            Pattern.CASE_INSENSITIVE);
+    private static final Map<Intent, List<String>> KEYWORDS = Map.of(
+            Intent.GREETING, List.of("hola", "buenos días", "buenas tardes", "buenas noches", "saludos", "qué tal"),
+            Intent.FAREWELL, List.of("adiós", "chau", "hasta luego", "nos vemos", "bye"),
+            Intent.HELP, List.of("ayuda", "help", "qué puedes hacer", "cómo funciona", "comandos"),
+            Intent.WEATHER_QUERY, List.of("clima", "temperatura", "tiempo", "pronóstico", "llover", "lluvia",
+                    "frío", "calor", "grados"));
 
-    private static final Pattern FAREWELL_PATTERN = Pattern.compile(
-            ".*(adiós|chau|hasta luego|nos vemos|bye).*",
-            Pattern.CASE_INSENSITIVE);
+    private static final String[] PREPOSITIONS = {"en", "de", "para", "desde"};
 
-    private static final Pattern HELP_PATTERN = Pattern.compile(
-            ".*(ayuda|help|qué puedes hacer|cómo funciona|comandos).*",
-            Pattern.CASE_INSENSITIVE);
+    private static final Set<String> COMPOUND_PREFIXES = Set.of("buenos", "san", "santa", "los", "el", "la");
+
+    private static final KeywordAutomaton INTENT_AUTOMATON = buildIntentAutomaton();
 
     public Intent detectIntent(String message) {
-        if (message == null || message.trim().isEmpty()) {
+        if (message == null) {
+            return Intent.UNKNOWN;
+        }
+        // El primer bit corresponde a la intención de mayor prioridad, no hace falta seguir si aparece
+        int found = INTENT_AUTOMATON.match(message, 1);
+        if (found == 0) {
             return Intent.UNKNOWN;
         }
-        String msg = message.toLowerCase().trim();
+        return INTENT_PRIORITY[Integer.numberOfTrailingZeros(found)];
+    }
 
-        if (GREETING_PATTERN.matcher(msg).matches()) return Intent.GREETING;
-        if (FAREWELL_PATTERN.matcher(msg).matches()) return Intent.FAREWELL;
-        if (HELP_PATTERN.matcher(msg).matches()) return Intent.HELP;
-        if (WEATHER_PATTERN.matcher(msg).matches()) return Intent.WEATHER_QUERY;
+    private static KeywordAutomaton buildIntentAutomaton() {
+        Map<String, Integer> keywordBits = new HashMap<>();
+        for (int i = 0; i < INTENT_PRIORITY.length; i++) {
+            for (String keyword : KEYWORDS.get(INTENT_PRIORITY[i])) {
+                keywordBits.merge(keyword, 1 << i, (a, b) -> a | b);
+            }
+        }
+        return KeywordAutomaton.build(keywordBits);
+    }
 
-        return Intent.UNKNOWN;
+    /**
+     * Resuelve la ciudad del mensaje. Primero una ciudad del gazetteer justo después de una
+     * preposición ("clima en Rosario"), después la ciudad más larga del gazetteer en todo el
+     * mensaje y, si no hay ninguna, el nombre libre que sigue a la preposición. Sin nada de
+     * eso se usa la ciudad por defecto.
+     */
+    public City resolveCity(String message) {
+        List<Preposition> prepositions = findPrepositions(message);
+        for (Preposition preposition : prepositions) {
+            Optional<City> named = cityGazetteer.findAtStart(
+                    CharBuffer.wrap(message, preposition.next(), message.length()));
+            if (named.isPresent()) {
+                log.debug("Resolved city after preposition from gazetteer: {}", named.get().id());
+                return named.get();
+            }
+        }
+
+        Optional<City> known = cityGazetteer.findInMessage(message);
+        if (known.isPresent()) {
+            log.debug("Resolved city from gazetteer: {}", known.get().id());
+            return known.get();
+        }
+
+        // Como antes del gazetteer: "en" antes que "de", "para" y "desde"
+        Optional<Preposition> first = prepositions.stream().min(Comparator.comparingInt(Preposition::rank));
+        if (first.isPresent()) {
+            String guessed = guessCityName(message, first.get().next());
+            if (!guessed.isEmpty()) {
+                log.debug("City not in gazetteer, using free text: {}", guessed);
+                return City.unresolved(guessed);
+            }
+        }
+
+        String defaultCity = weatherApiProperties.getDefaultCity();
+        log.debug("Could not extract city from message, using default: {}", defaultCity);
+        return cityGazetteer.findByName(defaultCity).orElseGet(() -> City.unresolved(defaultCity));
     }
 
-    // TODO: usar librería de NLP o diccionario de ciudades para mejorar detección
     public String extractCity(String message) {
-        String[] commonPrepositions = {"en", "de", "para", "desde"};
-        String lowerMessage = message.toLowerCase();
-
-        for (String prep : commonPrepositions) {
-            int index = lowerMessage.indexOf(prep + " ");
-            if (index != -1) {
-                String afterPrep = message.substring(index + prep.length() + 1).trim();
-
-                String[] words = afterPrep.split("[\\s,?.!]+");
-
-                // Detección básica de ciudades compuestas comunes en español
-                // Ej: Buenos Aires, San Francisco, Santa Fe, Los Angeles, El Cairo, La Paz...
-                if (words.length >= 2 &&
-                        (words[0].equalsIgnoreCase("buenos") ||
-                                words[0].equalsIgnoreCase("san") ||
-                                words[0].equalsIgnoreCase("santa") ||
-                                words[0].equalsIgnoreCase("los") ||
-                                words[0].equalsIgnoreCase("el") ||
-                                words[0].equalsIgnoreCase("la"))) {
-                    String cityName = words[0] + " " + words[1];
-                    log.debug("Extracted compound city name: {}", cityName);
-                    return cityName;
-                }
+        return resolveCity(message).name();
+    }
 
-                if (words.length > 0) {
-                    String cityName = words[0].replaceAll("[^a-zA-ZáéíóúñÁÉÍÓÚÑ]", "");
-                    log.debug("Extracted single-word city name: {}", cityName);
-                    return cityName;
+    // Preposiciones como palabras completas ("dicen" no cuenta como "en"), en el orden del mensaje
+    private static List<Preposition> findPrepositions(String message) {
+        List<Preposition> found = new ArrayList<>();
+        int length = message.length();
+        int i = 0;
+        while (i < length) {
+            if (!Character.isLetter(message.charAt(i))) {
+                i++;
+                continue;
+            }
+            int end = wordEnd(message, i);
+            int rank = prepositionRank(message, i, end);
+            if (rank >= 0 && end < length && Character.isWhitespace(message.charAt(end))) {
+                int next = end;
+                while (next < length && Character.isWhitespace(message.charAt(next))) {
+                    next++;
+                }
+                if (next < length) {
+                    found.add(new Preposition(rank, next));
                 }
             }
+            i = end;
         }
+        return found;
+    }
+
+    private static int prepositionRank(String message, int start, int end) {
+        for (int rank = 0; rank < PREPOSITIONS.length; rank++) {
+            String preposition = PREPOSITIONS[rank];
+            if (end - start == preposition.length()
+                    && message.regionMatches(true, start, preposition, 0, preposition.length())) {
+                return rank;
+            }
+        }
+        return -1;
+    }
+
+    private static String guessCityName(String message, int from) {
+        int start = skipNonLetters(message, from);
+        int end = wordEnd(message, start);
+        String word = message.substring(start, end);
+
+        // Detección básica de ciudades compuestas comunes en español
+        // Ej: Buenos Aires, San Francisco, Santa Fe, Los Angeles, El Cairo, La Paz...
+        if (COMPOUND_PREFIXES.contains(word.toLowerCase())) {
+            int next = skipNonLetters(message, end);
+            int nextEnd = wordEnd(message, next);
+            if (nextEnd > next) {
+                return word + " " + message.substring(next, nextEnd);
+            }
+        }
+        return word;
+    }
+
+    private static int skipNonLetters(String message, int from) {
+        int i = from;
+        while (i < message.length() && !Character.isLetter(message.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int wordEnd(String message, int start) {
+        int i = start;
+        while (i < message.length() && Character.isLetter(message.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
 
-        log.debug("Could not extract city from message, using default: {}",
-                weatherApiProperties.getDefaultCity());
-        return weatherApiProperties.getDefaultCity();
+    // rank: posición en PREPOSITIONS; next: inicio de la palabra que sigue
+    private record Preposition(int rank, int next) {
     }
 }
@@ -2,11 +2,16 @@ package com.enterprise.assistant.application.service;
 
 import com.enterprise.assistant.domain.model.Intent;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @Service
 public class MetricsService {
@@ -16,6 +21,13 @@ public class MetricsService {
     private final Counter messagesProcessed;
     private final Counter externalApiCalls;
     private final Counter externalApiFailures;
+    private final Counter weatherCacheHits;
+    private final Counter weatherCacheMisses;
+    private final Counter weatherCacheEvictions;
+    private final Counter sessionCacheHits;
+    private final Counter sessionCacheMisses;
+    private final Timer sessionLockWait;
+    private final DistributionSummary weatherCoalescedCallers;
     private final AtomicInteger activeConversations;
 
     public MetricsService(MeterRegistry meterRegistry) {
@@ -24,6 +36,17 @@ public class MetricsService {
         this.messagesProcessed = Counter.builder("messages.processed").register(meterRegistry);
         this.externalApiCalls = Counter.builder("external.api.calls").register(meterRegistry);
         this.externalApiFailures = Counter.builder("external.api.failures").register(meterRegistry);
+        this.weatherCacheHits = Counter.builder("weather.cache.hits").register(meterRegistry);
+        this.weatherCacheMisses = Counter.builder("weather.cache.misses").register(meterRegistry);
+        this.weatherCacheEvictions = Counter.builder("weather.cache.evictions").register(meterRegistry);
+        this.sessionCacheHits = Counter.builder("session.cache.hits").register(meterRegistry);
+        this.sessionCacheMisses = Counter.builder("session.cache.misses").register(meterRegistry);
+        this.sessionLockWait = Timer.builder("session.lock.wait")
+                .description("Time a message waited for the previous turn of its session")
+                .register(meterRegistry);
+        this.weatherCoalescedCallers = DistributionSummary.builder("weather.coalesced.callers")
+                .description("Callers served by each upstream weather call")
+                .register(meterRegistry);
         this.activeConversations = meterRegistry.gauge("conversations.active", new AtomicInteger(0));
     }
 
@@ -53,12 +76,177 @@ public class MetricsService {
         externalApiFailures.increment();
     }
 
+    public void recordWeatherCacheHit() {
+        weatherCacheHits.increment();
+    }
+
+    public void recordWeatherCacheMiss() {
+        weatherCacheMisses.increment();
+    }
+
+    public void recordWeatherCacheEviction() {
+        weatherCacheEvictions.increment();
+    }
+
+    public void recordCoalescedCallers(int callers) {
+        weatherCoalescedCallers.record(callers);
+    }
+
+    public void recordWeatherFallback() {
+        Counter.builder("weather.fallback.served").register(meterRegistry).increment();
+    }
+
+    public void recordWeatherCircuitTransition(String from, String to) {
+        Counter.builder("weather.circuit.transitions")
+                .tag("from", from)
+                .tag("to", to)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordRateLimitRejection(String reason) {
+        Counter.builder("weather.ratelimit.rejected")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordRateLimitLease(int tokens) {
+        Counter.builder("weather.ratelimit.leased.tokens").register(meterRegistry).increment(tokens);
+    }
+
+    public void registerRateLimitQueueDepth(Supplier<Number> depth) {
+        Gauge.builder("weather.ratelimit.queue", depth).register(meterRegistry);
+    }
+
+    public void registerWeatherCacheSize(Supplier<Number> size) {
+        Gauge.builder("weather.cache.size", size).register(meterRegistry);
+    }
+
+    public void recordSessionCacheHit() {
+        sessionCacheHits.increment();
+    }
+
+    public void recordSessionCacheMiss() {
+        sessionCacheMisses.increment();
+    }
+
+    public void recordSessionCacheEviction() {
+        Counter.builder("session.cache.evictions").register(meterRegistry).increment();
+    }
+
+    public void registerSessionCacheGauges(Supplier<Number> size, Supplier<Number> hitRatio) {
+        Gauge.builder("session.cache.size", size).register(meterRegistry);
+        Gauge.builder("session.cache.hit.ratio", hitRatio)
+                .description("Share of session lookups served without querying the database")
+                .register(meterRegistry);
+    }
+
+    public void recordSessionLockWait(long nanos) {
+        sessionLockWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSessionLockRejected(String reason) {
+        Counter.builder("session.lock.rejected")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void registerSessionLockGauge(Supplier<Number> activeSessions) {
+        Gauge.builder("session.lock.active", activeSessions).register(meterRegistry);
+    }
+
+    public void recordBatchSize(int messages) {
+        DistributionSummary.builder("conversations.batch.size")
+                .description("Messages received per batch request")
+                .register(meterRegistry)
+                .record(messages);
+    }
+
+    public void registerWebSocketGauge(Supplier<Number> openConnections) {
+        Gauge.builder("websocket.connections.active", openConnections)
+                .description("Open conversation WebSocket connections")
+                .register(meterRegistry);
+    }
+
+    public void recordWebSocketClosed(int closeCode) {
+        Counter.builder("websocket.connections.closed")
+                .tag("code", String.valueOf(closeCode))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordVirtualThreadPinned(String location, Duration duration) {
+        Timer.builder("threads.virtual.pinned")
+                .description("Time virtual threads stayed pinned to their carrier")
+                .tag("location", location)
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    public void registerHealthyReplicas(Supplier<Number> healthy) {
+        Gauge.builder("datasource.replicas.healthy", healthy).register(meterRegistry);
+    }
+
+    public void recordReplicaFallback() {
+        Counter.builder("datasource.replica.fallback").register(meterRegistry).increment();
+    }
+
+    public void recordConversationsArchived(int conversations) {
+        Counter.builder("retention.conversations.archived").register(meterRegistry).increment(conversations);
+    }
+
+    public void recordPartitionsDropped(int partitions) {
+        Counter.builder("retention.partitions.dropped").register(meterRegistry).increment(partitions);
+    }
+
+    public void recordArchivedHistoryRead() {
+        Counter.builder("retention.archive.reads").register(meterRegistry).increment();
+    }
+
+    public void registerJournalGauges(Supplier<Number> pendingMessages, Supplier<Number> flushLagMillis) {
+        Gauge.builder("journal.pending", pendingMessages)
+                .description("Messages acknowledged but not yet written to the database")
+                .register(meterRegistry);
+        Gauge.builder("journal.flush.lag", flushLagMillis)
+                .description("Age in milliseconds of the oldest unflushed message")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public void recordJournalFlush(int messages) {
+        DistributionSummary.builder("journal.flush.batch").register(meterRegistry).record(messages);
+    }
+
+    public void recordJournalFallback(String reason) {
+        Counter.builder("journal.fallback")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordJournalDropped(int messages) {
+        Counter.builder("journal.dropped").register(meterRegistry).increment(messages);
+    }
+
     public void decrementActiveConversations() {
         if (activeConversations != null) {
             activeConversations.decrementAndGet();
         }
     }
 
+    // Con varias instancias cada una cuenta sólo lo suyo; el reaper lo reemplaza por el total de la base
+    public void reconcileActiveConversations(long active) {
+        if (activeConversations != null) {
+            activeConversations.set((int) active);
+        }
+    }
+
+    public void recordConversationsReaped(int conversations) {
+        Counter.builder("conversations.reaped").register(meterRegistry).increment(conversations);
+    }
+
     public Timer.Sample startTimer() {
         return Timer.start(meterRegistry);
     }
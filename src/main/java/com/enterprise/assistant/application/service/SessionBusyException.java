@@ -0,0 +1,11 @@
+package com.enterprise.assistant.application.service;
+
+/**
+ * La sesión tiene demasiados mensajes en espera o el turno anterior no terminó a tiempo.
+ */
+public class SessionBusyException extends RuntimeException {
+
+    public SessionBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,164 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.config.SessionCacheProperties;
+import com.enterprise.assistant.domain.model.Conversation;
+import com.enterprise.assistant.domain.model.ConversationStatus;
+import com.enterprise.assistant.domain.repository.ConversationRepository;
+import com.enterprise.assistant.infrastructure.cache.TtlCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de sessionId a los datos de la conversación, para no buscarla por sessionId en
+ * cada mensaje. Devuelve una copia desasociada (sin mensajes cargados) que sirve para
+ * referenciar la conversación al guardar mensajes y para armar las respuestas.
+ */
+@Component
+public class SessionCache {
+
+    private final SessionCacheProperties properties;
+    private final ConversationRepository conversationRepository;
+    private final MetricsService metricsService;
+    private final TtlCache<String, CachedSession> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SessionCache(SessionCacheProperties properties, ConversationRepository conversationRepository,
+                        MetricsService metricsService) {
+        this.properties = properties;
+        this.conversationRepository = conversationRepository;
+        this.metricsService = metricsService;
+        this.cache = new TtlCache<>(properties.getTtl(), properties.getMaxSize(),
+                key -> metricsService.recordSessionCacheEviction());
+        metricsService.registerSessionCacheGauges(cache::size, this::hitRatio);
+    }
+
+    public Optional<Conversation> findBySessionId(String sessionId) {
+        if (!properties.isEnabled()) {
+            return conversationRepository.findBySessionId(sessionId);
+        }
+        TtlCache.Entry<CachedSession> entry = cache.get(sessionId);
+        if (entry != null) {
+            hits.increment();
+            metricsService.recordSessionCacheHit();
+            return Optional.of(entry.getValue().toConversation());
+        }
+        misses.increment();
+        metricsService.recordSessionCacheMiss();
+        Optional<Conversation> conversation = conversationRepository.findBySessionId(sessionId);
+        conversation.ifPresent(this::put);
+        return conversation;
+    }
+
+    /**
+     * Variante de {@link #findBySessionId} para varias sesiones: las que no están en el cache
+     * se buscan juntas en una sola consulta. Las claves del resultado son los sessionId tal
+     * como se pidieron; las sesiones inexistentes no aparecen.
+     */
+    public Map<String, Conversation> findAllBySessionIds(Collection<String> sessionIds) {
+        Map<String, Conversation> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String sessionId : sessionIds) {
+            TtlCache.Entry<CachedSession> entry = properties.isEnabled() ? cache.get(sessionId) : null;
+            if (entry != null) {
+                hits.increment();
+                metricsService.recordSessionCacheHit();
+                found.put(sessionId, entry.getValue().toConversation());
+            } else {
+                missing.add(sessionId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+        if (properties.isEnabled()) {
+            misses.add(missing.size());
+            missing.forEach(sessionId -> metricsService.recordSessionCacheMiss());
+        }
+        // La base devuelve el UUID en forma canónica; el cliente pudo enviarlo en mayúsculas
+        Map<String, Conversation> loaded = new HashMap<>();
+        for (Conversation conversation : conversationRepository.findAllBySessionIdIn(missing)) {
+            put(conversation);
+            loaded.put(conversation.getSessionId(), conversation);
+        }
+        for (String sessionId : missing) {
+            Conversation conversation = loaded.get(sessionId.toLowerCase(Locale.ROOT));
+            if (conversation != null) {
+                found.put(sessionId, conversation);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Agrega una conversación recién insertada. Dentro de una transacción espera al commit,
+     * para no cachear un id que un rollback dejaría sin fila.
+     */
+    public void put(Conversation conversation) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        CachedSession session = CachedSession.from(conversation);
+        afterCommit(() -> cache.put(session.sessionId(), session));
+    }
+
+    /**
+     * Descarta la sesión ahora y de nuevo al confirmar la transacción en curso, por si otro
+     * request la volvió a cargar con el estado anterior mientras tanto.
+     */
+    public void invalidate(String sessionId) {
+        cache.invalidate(sessionId);
+        afterCommit(() -> cache.invalidate(sessionId));
+    }
+
+    private double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record CachedSession(Long id, String sessionId, String userId, ConversationStatus status,
+                                 LocalDateTime startedAt, LocalDateTime endedAt) {
+
+        static CachedSession from(Conversation conversation) {
+            return new CachedSession(conversation.getId(), conversation.getSessionId(), conversation.getUserId(),
+                    conversation.getStatus(), conversation.getStartedAt(), conversation.getEndedAt());
+        }
+
+        // Instancia nueva en cada acceso: la entidad es mutable y no debe compartirse entre requests
+        Conversation toConversation() {
+            return Conversation.builder()
+                    .id(id)
+                    .sessionId(sessionId)
+                    .userId(userId)
+                    .status(status)
+                    .startedAt(startedAt)
+                    .endedAt(endedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.config.SessionLockProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta los turnos de una misma sesión de a uno y en orden de llegada, sin bloquear a
+ * las demás sesiones. Cada sesión con turnos en curso tiene su propio lock justo; la
+ * entrada se crea con el primer turno y se elimina cuando no queda nadie esperando, así
+ * el mapa solo contiene sesiones activas en este momento.
+ * <p>
+ * La cola por sesión está acotada ({@code app.session-lock.max-queued}) y la espera
+ * también ({@code max-wait}); al superarlas se rechaza el mensaje con
+ * {@link SessionBusyException}. El orden se garantiza por instancia: con varias réplicas
+ * el balanceador debe enviar una misma sesión siempre a la misma.
+ */
+@Component
+public class SessionTurnLocks {
+
+    private final SessionLockProperties properties;
+    private final MetricsService metricsService;
+    private final ConcurrentHashMap<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public SessionTurnLocks(SessionLockProperties properties, MetricsService metricsService) {
+        this.properties = properties;
+        this.metricsService = metricsService;
+        metricsService.registerSessionLockGauge(mailboxes::size);
+    }
+
+    /**
+     * Corre {@code turn} cuando terminan los turnos anteriores de la sesión. Sin sessionId
+     * (conversación nueva) corre enseguida: nadie más puede conocer la sesión todavía.
+     */
+    public <T> T inOrder(String sessionId, Supplier<T> turn) {
+        if (sessionId == null) {
+            return turn.get();
+        }
+        Mailbox mailbox = admit(sessionId);
+        if (mailbox == null) {
+            throw new SessionBusyException("Too many pending messages for session " + sessionId);
+        }
+        try {
+            if (!acquire(sessionId, mailbox.lock, properties.getMaxWait().toNanos())) {
+                throw new SessionBusyException("Timed out waiting for previous message of session " + sessionId);
+            }
+            try {
+                return turn.get();
+            } finally {
+                mailbox.lock.unlock();
+            }
+        } finally {
+            leave(sessionId);
+        }
+    }
+
+    /**
+     * Variante para lotes: toma los locks de todas las sesiones antes de correr {@code turn},
+     * en orden de sessionId para que dos lotes con sesiones en común no se bloqueen entre sí.
+     * La espera máxima ({@code max-wait}) es para todo el lote, no por sesión. Las sesiones que
+     * no se pudieron tomar (cola llena o espera vencida) se pasan a {@code turn}, que decide
+     * qué hacer con sus mensajes.
+     */
+    public <T> T inOrder(Collection<String> sessionIds, Function<Set<String>, T> turn) {
+        List<String> ordered = sessionIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        Map<String, Mailbox> held = new LinkedHashMap<>();
+        Set<String> rejected = new HashSet<>();
+        long deadline = System.nanoTime() + properties.getMaxWait().toNanos();
+        try {
+            for (String sessionId : ordered) {
+                Mailbox mailbox = admit(sessionId);
+                if (mailbox == null) {
+                    rejected.add(sessionId);
+                    continue;
+                }
+                boolean acquired = false;
+                try {
+                    // Vencido el plazo solo se toman las sesiones libres
+                    acquired = acquire(sessionId, mailbox.lock, Math.max(0, deadline - System.nanoTime()));
+                } finally {
+                    if (acquired) {
+                        held.put(sessionId, mailbox);
+                    } else {
+                        leave(sessionId);
+                    }
+                }
+                if (!acquired) {
+                    rejected.add(sessionId);
+                }
+            }
+            return turn.apply(rejected);
+        } finally {
+            held.forEach((sessionId, mailbox) -> {
+                mailbox.lock.unlock();
+                leave(sessionId);
+            });
+        }
+    }
+
+    // Admisión y contador dentro de compute: la entrada no se elimina mientras alguien la usa
+    private Mailbox admit(String sessionId) {
+        boolean[] admitted = new boolean[1];
+        Mailbox mailbox = mailboxes.compute(sessionId, (key, current) -> {
+            Mailbox entry = current == null ? new Mailbox() : current;
+            // El que está procesando más los que esperan
+            if (entry.members <= properties.getMaxQueued()) {
+                entry.members++;
+                admitted[0] = true;
+            }
+            return entry;
+        });
+        if (!admitted[0]) {
+            metricsService.recordSessionLockRejected("queue_full");
+            return null;
+        }
+        return mailbox;
+    }
+
+    private void leave(String sessionId) {
+        mailboxes.computeIfPresent(sessionId, (key, entry) -> --entry.members == 0 ? null : entry);
+    }
+
+    private boolean acquire(String sessionId, ReentrantLock lock, long timeoutNanos) {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionBusyException("Interrupted while waiting for session " + sessionId);
+        }
+        metricsService.recordSessionLockWait(System.nanoTime() - start);
+        if (!acquired) {
+            metricsService.recordSessionLockRejected("timeout");
+        }
+        return acquired;
+    }
+
+    int activeSessions() {
+        return mailboxes.size();
+    }
+
+    int queueLength(String sessionId) {
+        Mailbox mailbox = mailboxes.get(sessionId);
+        return mailbox == null ? 0 : mailbox.lock.getQueueLength();
+    }
+
+    private static final class Mailbox {
+
+        // Justo: los mensajes de la sesión se procesan en el orden en que llegaron
+        private final ReentrantLock lock = new ReentrantLock(true);
+        // Solo se modifica dentro de compute/computeIfPresent sobre la misma clave
+        private int members;
+    }
+}
@@ -0,0 +1,19 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.domain.model.Intent;
+
+/**
+ * Recibe los pasos de un turno a medida que se completan, antes de que el turno se
+ * persista. Lo usa el endpoint de streaming; el request/response común usa {@link #NONE}.
+ */
+public interface TurnObserver {
+
+    TurnObserver NONE = new TurnObserver() {
+    };
+
+    default void intentDetected(String sessionId, Intent intent) {
+    }
+
+    default void replyReady(String message, String externalServiceUsed) {
+    }
+}
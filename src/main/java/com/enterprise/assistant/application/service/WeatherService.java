@@ -0,0 +1,173 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.config.WeatherApiProperties;
+import com.enterprise.assistant.config.WeatherCacheProperties;
+import com.enterprise.assistant.domain.model.City;
+import com.enterprise.assistant.infrastructure.cache.SingleFlight;
+import com.enterprise.assistant.infrastructure.cache.TtlCache;
+import com.enterprise.assistant.infrastructure.external.ExternalServiceException;
+import com.enterprise.assistant.infrastructure.external.WeatherApiClient;
+import com.enterprise.assistant.infrastructure.external.dto.WeatherResponse;
+import com.enterprise.assistant.infrastructure.ratelimit.DistributedRateLimiter;
+import com.enterprise.assistant.infrastructure.ratelimit.RateLimitExceededException;
+import com.enterprise.assistant.infrastructure.ratelimit.RatePriority;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+
+@Service
+public class WeatherService {
+
+    public static final String CIRCUIT_BREAKER_NAME = "weather";
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherService.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final WeatherApiClient weatherApiClient;
+    private final WeatherApiProperties weatherApiProperties;
+    private final WeatherCacheProperties cacheProperties;
+    private final MetricsService metricsService;
+    private final Executor refreshExecutor;
+    private final TtlCache<String, WeatherResponse> cache;
+    private final SingleFlight<String, WeatherResponse> singleFlight;
+    private final CircuitBreaker circuitBreaker;
+    private final DistributedRateLimiter rateLimiter;
+
+    public WeatherService(WeatherApiClient weatherApiClient,
+                          WeatherApiProperties weatherApiProperties,
+                          WeatherCacheProperties cacheProperties,
+                          MetricsService metricsService,
+                          CircuitBreakerRegistry circuitBreakerRegistry,
+                          DistributedRateLimiter rateLimiter,
+                          @Qualifier("weatherRefreshExecutor") Executor refreshExecutor) {
+        this.weatherApiClient = weatherApiClient;
+        this.weatherApiProperties = weatherApiProperties;
+        this.cacheProperties = cacheProperties;
+        this.metricsService = metricsService;
+        this.refreshExecutor = refreshExecutor;
+        this.rateLimiter = rateLimiter;
+        this.cache = new TtlCache<>(
+                cacheProperties.getTtl().plus(cacheProperties.getStaleTtl()),
+                cacheProperties.getMaxSize(),
+                key -> metricsService.recordWeatherCacheEviction());
+        this.singleFlight = new SingleFlight<>(metricsService::recordCoalescedCallers);
+        metricsService.registerWeatherCacheSize(cache::size);
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME);
+        this.circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("Weather circuit breaker transition: {}", event.getStateTransition());
+            metricsService.recordWeatherCircuitTransition(
+                    event.getStateTransition().getFromState().name(),
+                    event.getStateTransition().getToState().name());
+        });
+    }
+
+    public WeatherResponse getCurrentWeather(String city) {
+        return getCurrentWeather(City.unresolved(city));
+    }
+
+    public WeatherResponse getCurrentWeather(City city) {
+        String key = cacheKey(city);
+        if (!cacheProperties.isEnabled()) {
+            try {
+                return fetch(key, city, RatePriority.INTERACTIVE);
+            } catch (CallNotPermittedException | RateLimitExceededException e) {
+                return lastKnownOrFail(key, e);
+            }
+        }
+
+        TtlCache.Entry<WeatherResponse> entry = cache.get(key);
+        if (entry == null) {
+            metricsService.recordWeatherCacheMiss();
+            try {
+                WeatherResponse response = fetch(key, city, RatePriority.INTERACTIVE);
+                cache.put(key, response);
+                return response;
+            } catch (CallNotPermittedException | RateLimitExceededException e) {
+                return lastKnownOrFail(key, e);
+            }
+        }
+
+        metricsService.recordWeatherCacheHit();
+        if (entry.isOlderThan(cacheProperties.getTtl()) && entry.tryStartRefresh()) {
+            scheduleRefresh(key, city, entry);
+        }
+        return entry.getValue();
+    }
+
+    private void scheduleRefresh(String key, City city, TtlCache.Entry<WeatherResponse> entry) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    cache.put(key, fetch(key, city, RatePriority.BACKGROUND));
+                    log.debug("Weather cache refreshed for key: {}", key);
+                } catch (Exception e) {
+                    log.warn("Background weather refresh failed for key: {}. Error: {}", key, e.getMessage());
+                    entry.refreshFailed();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Weather refresh rejected for key: {}", key);
+            entry.refreshFailed();
+        }
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private WeatherResponse lastKnownOrFail(String key, RuntimeException e) {
+        TtlCache.Entry<WeatherResponse> lastKnown = cache.getStale(key);
+        if (lastKnown == null) {
+            throw e instanceof ExternalServiceException external
+                    ? external
+                    : new ExternalServiceException("Weather service unavailable (circuit open)", e);
+        }
+        log.debug("Weather upstream unavailable ({}), serving last cached weather for key: {}", e.getMessage(), key);
+        metricsService.recordWeatherFallback();
+        return lastKnown.getValue();
+    }
+
+    private WeatherResponse fetch(String key, City city, RatePriority priority) {
+        return singleFlight.execute(key, () -> {
+            // Con el circuito abierto no se consume cupo del rate limit compartido
+            if (circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+                throw CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+            }
+            rateLimiter.acquire(priority);
+            return circuitBreaker.executeSupplier(() -> callUpstream(city.weatherQuery()));
+        });
+    }
+
+    private WeatherResponse callUpstream(String city) {
+        metricsService.incrementExternalApiCall();
+        try {
+            return weatherApiClient.getCurrentWeather(city);
+        } catch (RuntimeException e) {
+            metricsService.recordExternalApiFailure();
+            throw e;
+        }
+    }
+
+    // Las ciudades del gazetteer se identifican por id; el resto por el nombre normalizado
+    String cacheKey(City city) {
+        String identity = city.isResolved() ? city.id() : normalize(city.name());
+        return identity + "|" + weatherApiProperties.getUnits() + "|" + weatherApiProperties.getLang();
+    }
+
+    private static String normalize(String name) {
+        String folded = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(folded.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
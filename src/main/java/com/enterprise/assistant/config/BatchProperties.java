@@ -0,0 +1,14 @@
+package com.enterprise.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.batch")
+@Data
+public class BatchProperties {
+
+    // Mensajes por request en POST /api/conversations/batch
+    private int maxSize = 100;
+}
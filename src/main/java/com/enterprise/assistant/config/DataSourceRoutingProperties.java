@@ -0,0 +1,33 @@
+package com.enterprise.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.routing")
+@Data
+public class DataSourceRoutingProperties {
+
+    // Deshabilitado: todo va al datasource de spring.datasource
+    private boolean enabled = false;
+    private List<Replica> replicas = new ArrayList<>();
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    // Tiempo después de escribir en una sesión durante el cual sus lecturas van al primario;
+    // debe cubrir el lag de replicación (y el flush-interval del journal si está habilitado)
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    private int maxTrackedSessions = 100_000;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,14 @@
+package com.enterprise.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.export")
+@Data
+public class ExportProperties {
+
+    // Filas que el driver trae por viaje; también cada cuántas filas se limpia la sesión de Hibernate
+    private int fetchSize = 1000;
+}
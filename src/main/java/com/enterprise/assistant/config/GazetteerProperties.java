@@ -0,0 +1,15 @@
+package com.enterprise.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.gazetteer")
+@Data
+public class GazetteerProperties {
+
+    private String source = "classpath:gazetteer/cities.tsv";
+    // Directorio donde se genera el índice binario; se reutiliza mientras no cambie el listado
+    private String indexDir = System.getProperty("java.io.tmpdir") + "/conversational-assistant";
+}
@@ -0,0 +1,25 @@
+package com.enterprise.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.journal")
+@Data
+public class JournalProperties {
+
+    // Deshabilitado: los mensajes se escriben en la base dentro del request
+    private boolean enabled = false;
+    private String directory = "data/journal";
+    private DataSize segmentSize = DataSize.ofMegabytes(16);
+    // Ventana de durabilidad: cada cuánto se sincroniza el log a disco y se vuelca a la base
+    private Duration flushInterval = Duration.ofMillis(200);
+    private int batchSize = 500;
+    // Con más mensajes pendientes se vuelve a escribir en forma sincrónica
+    private int maxPending = 10_000;
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+}
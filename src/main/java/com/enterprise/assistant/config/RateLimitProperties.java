@@ -0,0 +1,23 @@
+package com.enterprise.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit.weather")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private String bucket = "openweather";
+    // Cupo compartido por todas las instancias (rate limit de OpenWeather por API key)
+    private int capacity = 60;
+    private Duration refillPeriod = Duration.ofMinutes(1);
+    private int leaseSize = 5;
+    private Duration leaseTtl = Duration.ofSeconds(10);
+    private int maxQueueSize = 100;
+    private Duration maxWait = Duration.ofSeconds(2);
+}
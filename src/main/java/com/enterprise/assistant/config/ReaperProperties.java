@@ -0,0 +1,19 @@
+package com.enterprise.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.reaper")
+@Data
+public class ReaperProperties {
+
+    private boolean enabled = true;
+    // Conversaciones ACTIVE sin mensajes durante este tiempo pasan a COMPLETED
+    private Duration idleTimeout = Duration.ofHours(2);
+    private Duration interval = Duration.ofMinutes(5);
+    private int batchSize = 500;
+}
@@ -1,9 +1,18 @@
 package com.enterprise.assistant.config;
 
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -12,12 +21,43 @@ public class RestClientConfig {
 
     private final WeatherApiProperties weatherApiProperties;
 
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager weatherConnectionManager() {
+        WeatherApiProperties.Http http = weatherApiProperties.getHttp();
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.getMaxConnections())
+                .setMaxConnPerRoute(http.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(weatherApiProperties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(weatherApiProperties.getReadTimeout()))
+                        .setTimeToLive(TimeValue.of(http.getConnectionTimeToLive()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient weatherHttpClient(PoolingHttpClientConnectionManager weatherConnectionManager) {
+        WeatherApiProperties.Http http = weatherApiProperties.getHttp();
+        return HttpClients.custom()
+                .setConnectionManager(weatherConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(http.getPoolAcquireTimeout()))
+                        .setResponseTimeout(Timeout.of(weatherApiProperties.getReadTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(http.getIdleEvictionTimeout()))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(weatherApiProperties.getTimeout());
-        factory.setReadTimeout(weatherApiProperties.getTimeout());
+    public RestTemplate restTemplate(CloseableHttpClient weatherHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(weatherHttpClient));
+    }
 
-        return new RestTemplate(factory);
+    @Bean
+    public PoolingHttpClientConnectionManagerMetricsBinder weatherConnectionPoolMetrics(
+            PoolingHttpClientConnectionManager weatherConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(weatherConnectionManager, "weather");
     }
 }
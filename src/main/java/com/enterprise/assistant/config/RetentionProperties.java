@@ -0,0 +1,23 @@
+package com.enterprise.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.retention")
+@Data
+public class RetentionProperties {
+
+    private boolean enabled = false;
+    private Duration interval = Duration.ofHours(6);
+    // Conversaciones COMPLETED finalizadas hace más que esto pasan a conversation_archive
+    private Duration archiveAfter = Duration.ofDays(90);
+    private int archiveBatchSize = 500;
+    // Solo PostgreSQL con la tabla messages particionada (docs/sql/004-messages-partitioning.sql)
+    private boolean partitionedMessages = false;
+    private int messageRetentionMonths = 12;
+    private int precreateMonths = 3;
+}
@@ -0,0 +1,18 @@
+package com.enterprise.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.session-cache")
+@Data
+public class SessionCacheProperties {
+
+    private boolean enabled = true;
+    // Acota cuánto puede tardar otra instancia en ver una conversación finalizada
+    private Duration ttl = Duration.ofMinutes(30);
+    private int maxSize = 100_000;
+}
@@ -0,0 +1,18 @@
+package com.enterprise.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.session-lock")
+@Data
+public class SessionLockProperties {
+
+    // Mensajes de una misma sesión esperando detrás del que se está procesando
+    private int maxQueued = 8;
+    // Debe cubrir un turno completo, incluida la consulta a OpenWeather
+    private Duration maxWait = Duration.ofSeconds(15);
+}
@@ -0,0 +1,83 @@
+package com.enterprise.assistant.config;
+
+import com.enterprise.assistant.infrastructure.sharding.ShardRebalancer;
+import com.enterprise.assistant.infrastructure.sharding.ShardRouter;
+import com.enterprise.assistant.infrastructure.sharding.ShardRoutingDataSource;
+import com.enterprise.assistant.infrastructure.sharding.ShardSchemaInitializer;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reemplaza el datasource autoconfigurado por uno que reparte las conversaciones entre
+ * los shards de {@code app.sharding.shards}. Solo se activa con {@code app.sharding.enabled=true}.
+ * Las tablas que no son de conversaciones (rate limit) quedan en el shard 0.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties sharding,
+                                                         DataSourceRoutingProperties replicaRouting,
+                                                         JournalProperties journal) {
+        if (replicaRouting.isEnabled()) {
+            throw new IllegalStateException("app.sharding and app.datasource.routing cannot be enabled together");
+        }
+        // El journal vuelca mensajes sin saber a qué shard pertenecen
+        if (journal.isEnabled()) {
+            throw new IllegalStateException("app.sharding and app.journal cannot be enabled together");
+        }
+        if (sharding.getShards().size() > sharding.getIdStripes()) {
+            throw new IllegalStateException("app.sharding.shards exceeds app.sharding.id-stripes");
+        }
+
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < sharding.getShards().size(); i++) {
+            ShardingProperties.Shard shard = sharding.getShards().get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .driverClassName(shard.getDriverClassName())
+                    .build();
+            dataSource.setPoolName("shard-" + i);
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            shards.add(dataSource);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.sharding", name = "initialize-schema", havingValue = "true")
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                         ShardRoutingDataSource shardRoutingDataSource,
+                                                         ShardingProperties sharding) {
+        return new ShardSchemaInitializer(entityManagerFactory, shardRoutingDataSource, sharding.getIdStripes());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.sharding", name = "rebalance", havingValue = "true")
+    public ApplicationRunner shardRebalanceRunner(ShardRoutingDataSource shardRoutingDataSource,
+                                                  ShardRouter shardRouter, ShardingProperties sharding) {
+        return args -> new ShardRebalancer(shardRoutingDataSource.shards())
+                .rebalance(shardRouter.shardCount(), sharding.getShards().size());
+    }
+}
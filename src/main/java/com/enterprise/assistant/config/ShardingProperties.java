@@ -0,0 +1,35 @@
+package com.enterprise.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.sharding")
+@Data
+public class ShardingProperties {
+
+    // Deshabilitado: una sola base (spring.datasource)
+    private boolean enabled = false;
+    private List<Shard> shards = new ArrayList<>();
+    // Shards que reciben conversaciones; 0 = todos. Menor que shards.size() mientras se rebalancea
+    private int activeShards = 0;
+    // Cantidad máxima de shards que admite el rango de ids; no se puede cambiar con datos cargados
+    private int idStripes = 64;
+    // Crea el esquema y las secuencias en cada shard al arrancar (bases vacías: desarrollo y tests)
+    private boolean initializeSchema = false;
+    // Mueve las conversaciones a los shards nuevos al arrancar y termina (ver docs/sharding.md)
+    private boolean rebalance = false;
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
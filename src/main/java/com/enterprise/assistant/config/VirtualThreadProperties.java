@@ -0,0 +1,18 @@
+package com.enterprise.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// El modo en sí se activa con spring.threads.virtual.enabled (perfil virtual-threads)
+@Configuration
+@ConfigurationProperties(prefix = "app.virtual-threads")
+@Data
+public class VirtualThreadProperties {
+
+    private boolean monitorPinning = true;
+    // Bloqueos más cortos que esto no llegan a quitarle el carrier a otros hilos
+    private Duration pinningThreshold = Duration.ofMillis(20);
+}
@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 @ConfigurationProperties(prefix = "external.weather.api")
 @Data
@@ -11,8 +13,30 @@ public class WeatherApiProperties {
 
     private String baseUrl;
     private String key;
-    private Integer timeout;
+    // Milisegundos; también es el valor de connect/read cuando http.* no los define
+    private Integer timeout = 10000;
     private String defaultCity;
     private String units;
     private String lang;
+    private Http http = new Http();
+
+    public Duration getConnectTimeout() {
+        return http.getConnectTimeout() != null ? http.getConnectTimeout() : Duration.ofMillis(timeout);
+    }
+
+    public Duration getReadTimeout() {
+        return http.getReadTimeout() != null ? http.getReadTimeout() : Duration.ofMillis(timeout);
+    }
+
+    @Data
+    public static class Http {
+        // Si no se configuran, connect/read toman el valor de external.weather.api.timeout
+        private Duration connectTimeout;
+        private Duration readTimeout;
+        private Duration poolAcquireTimeout = Duration.ofSeconds(1);
+        private int maxConnections = 50;
+        private int maxConnectionsPerRoute = 20;
+        private Duration idleEvictionTimeout = Duration.ofSeconds(30);
+        private Duration connectionTimeToLive = Duration.ofMinutes(5);
+    }
 }
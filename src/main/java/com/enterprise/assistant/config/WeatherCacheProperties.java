@@ -0,0 +1,19 @@
+package com.enterprise.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "external.weather.cache")
+@Data
+public class WeatherCacheProperties {
+
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofMinutes(10);
+    // Tiempo adicional durante el cual se sirve el dato vencido mientras se refresca en segundo plano
+    private Duration staleTtl = Duration.ofMinutes(30);
+    private int maxSize = 500;
+}
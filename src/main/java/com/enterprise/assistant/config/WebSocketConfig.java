@@ -0,0 +1,29 @@
+package com.enterprise.assistant.config;
+
+import com.enterprise.assistant.api.websocket.ConversationWebSocketHandler;
+import com.enterprise.assistant.infrastructure.security.JwtHandshakeInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistration;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final ConversationWebSocketHandler conversationHandler;
+    // Sin interceptor en el perfil test, igual que el resto de la API
+    private final ObjectProvider<JwtHandshakeInterceptor> jwtHandshakeInterceptor;
+    private final WebSocketProperties properties;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        WebSocketHandlerRegistration registration = registry.addHandler(conversationHandler, "/ws/conversations")
+                .setAllowedOriginPatterns(properties.getAllowedOrigins().toArray(String[]::new));
+        jwtHandshakeInterceptor.ifAvailable(registration::addInterceptors);
+    }
+}
@@ -0,0 +1,24 @@
+package com.enterprise.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.websocket")
+@Data
+public class WebSocketProperties {
+
+    private List<String> allowedOrigins = List.of("*");
+    // Pasado el límite la conexión nueva se cierra con 1013 (try again later)
+    private int maxConnections = 10_000;
+    private Duration idleTimeout = Duration.ofMinutes(5);
+    private DataSize maxMessageSize = DataSize.ofKilobytes(8);
+    // Respuestas pendientes de enviar a un cliente lento; al superarlo se cierra la conexión
+    private DataSize sendBufferSize = DataSize.ofKilobytes(64);
+    private Duration sendTimeLimit = Duration.ofSeconds(10);
+}
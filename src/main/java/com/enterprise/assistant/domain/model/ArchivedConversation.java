@@ -0,0 +1,51 @@
+package com.enterprise.assistant.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conversación finalizada fuera de la tabla caliente: los mensajes se guardan juntos como
+ * JSON comprimido con gzip. Conserva el id original de la conversación.
+ */
+@Entity
+@Table(name = "conversation_archive")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedConversation {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    @Convert(converter = SessionIdConverter.class)
+    private String sessionId;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime endedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ConversationStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Column(nullable = false)
+    private int messageCount;
+
+    @Column(nullable = false, length = Length.LONG32)
+    private byte[] messages;
+}
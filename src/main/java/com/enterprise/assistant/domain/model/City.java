@@ -0,0 +1,22 @@
+package com.enterprise.assistant.domain.model;
+
+/**
+ * Ciudad para consultar el clima. Las ciudades del gazetteer tienen un id canónico
+ * (por ejemplo {@code ar-cordoba}); las que no se reconocen quedan con id {@code null}
+ * y se consultan por el texto ingresado.
+ */
+public record City(String id, String name, String countryCode) {
+
+    public static City unresolved(String name) {
+        return new City(null, name, null);
+    }
+
+    public boolean isResolved() {
+        return id != null;
+    }
+
+    // Formato "q" de OpenWeather: nombre y código de país ISO 3166
+    public String weatherQuery() {
+        return countryCode == null ? name : name + "," + countryCode;
+    }
+}
@@ -12,7 +12,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "conversations")
+@Table(name = "conversations", indexes = {
+        // El reaper busca conversaciones activas por antigüedad de la última actividad
+        @Index(name = "idx_conversations_status_last_activity", columnList = "status, last_activity_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,10 +23,12 @@ import java.util.List;
 public class Conversation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conversation_seq")
+    @SequenceGenerator(name = "conversation_seq", sequenceName = "conversations_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
+    @Convert(converter = SessionIdConverter.class)
     private String sessionId;
 
     @Column(nullable = false)
@@ -34,11 +39,21 @@ public class Conversation {
 
     private LocalDateTime endedAt;
 
+    // Contadores desnormalizados: solo los cambia el UPDATE atómico que acompaña a los mensajes
+    // nuevos (updatable = false evita que guardar la entidad pise un incremento concurrente)
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime lastActivityAt;
+
+    @Column(nullable = false, updatable = false)
+    private int messageCount;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ConversationStatus status;
 
+    // No se carga en ningún flujo: el historial usa proyecciones paginadas y la cantidad sale de messageCount
     @OneToMany(mappedBy = "conversation", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("timestamp ASC, id ASC")
     @Builder.Default
     @JsonManagedReference
     private List<Message> messages = new ArrayList<>();
@@ -46,6 +61,9 @@ public class Conversation {
     @PrePersist
     protected void onCreate() {
         startedAt = LocalDateTime.now();
+        if (lastActivityAt == null) {
+            lastActivityAt = startedAt;
+        }
         if (status == null) {
             status = ConversationStatus.ACTIVE;
         }
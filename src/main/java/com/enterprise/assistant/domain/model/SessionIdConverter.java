@@ -0,0 +1,36 @@
+package com.enterprise.assistant.domain.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Guarda el sessionId en una columna UUID nativa (16 bytes en lugar de un varchar de 36)
+ * manteniendo el String en el modelo y en la API.
+ * <p>
+ * Un sessionId que no es un UUID (enviado por un cliente) se traduce a un UUID por nombre
+ * (versión 3), que nunca coincide con los que se generan (v4 heredados o v7): la búsqueda
+ * no encuentra nada, igual que con un sessionId desconocido.
+ */
+@Converter
+public class SessionIdConverter implements AttributeConverter<String, UUID> {
+
+    @Override
+    public UUID convertToDatabaseColumn(String sessionId) {
+        if (sessionId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(sessionId);
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(sessionId.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public String convertToEntityAttribute(UUID sessionId) {
+        return sessionId == null ? null : sessionId.toString();
+    }
+}
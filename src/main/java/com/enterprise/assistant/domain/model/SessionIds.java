@@ -0,0 +1,41 @@
+package com.enterprise.assistant.domain.model;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Genera sessionIds UUIDv7 (RFC 9562): 48 bits de epoch en milisegundos seguidos de bits
+ * aleatorios. Al crecer con el tiempo, las inserciones en el índice único de
+ * {@code session_id} caen al final del árbol en lugar de repartirse por todas sus páginas.
+ * Conservan 74 bits aleatorios de {@link SecureRandom}, así que siguen sin poder adivinarse.
+ */
+public final class SessionIds {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    // Último timestamp usado: si el reloj retrocede se sigue con el anterior y el orden se mantiene
+    private static final AtomicLong LAST_MILLIS = new AtomicLong();
+
+    private SessionIds() {
+    }
+
+    public static String newSessionId() {
+        return newUuid().toString();
+    }
+
+    static UUID newUuid() {
+        long millis = LAST_MILLIS.accumulateAndGet(System.currentTimeMillis(), Math::max);
+        byte[] random = new byte[10];
+        RANDOM.nextBytes(random);
+
+        long randA = ((random[0] & 0x0fL) << 8) | (random[1] & 0xffL);
+        long mostSignificant = (millis << 16) | 0x7000L | randA;
+
+        long randB = 0;
+        for (int i = 2; i < 10; i++) {
+            randB = (randB << 8) | (random[i] & 0xffL);
+        }
+        long leastSignificant = (randB & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
@@ -0,0 +1,13 @@
+package com.enterprise.assistant.domain.repository;
+
+import com.enterprise.assistant.domain.model.ArchivedConversation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ArchivedConversationRepository extends JpaRepository<ArchivedConversation, Long> {
+
+    Optional<ArchivedConversation> findBySessionId(String sessionId);
+}
@@ -1,13 +1,72 @@
 package com.enterprise.assistant.domain.repository;
 
 import com.enterprise.assistant.domain.model.Conversation;
+import com.enterprise.assistant.domain.model.ConversationStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ConversationRepository extends JpaRepository<Conversation, Long> {
 
     Optional<Conversation> findBySessionId(String sessionId);
+
+    List<Conversation> findAllBySessionIdIn(Collection<String> sessionIds);
+
+    // SKIP LOCKED (timeout -2): varias instancias pueden archivar a la vez sin tomar el mismo lote
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            select c from Conversation c
+            where c.status = :status and c.endedAt < :endedBefore
+            order by c.id
+            """)
+    List<Conversation> findToArchive(@Param("status") ConversationStatus status,
+                                     @Param("endedBefore") LocalDateTime endedBefore,
+                                     Limit limit);
+
+    long countByStatus(ConversationStatus status);
+
+    // Incremento atómico en la base; la última actividad solo avanza aunque un turno termine tarde
+    @Transactional
+    @Modifying
+    @Query("""
+            update Conversation c
+            set c.messageCount = c.messageCount + :added,
+                c.lastActivityAt = case when c.lastActivityAt < :at then :at else c.lastActivityAt end
+            where c.id = :id
+            """)
+    int recordMessages(@Param("id") Long id, @Param("added") int added, @Param("at") LocalDateTime at);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            select c from Conversation c
+            where c.status = com.enterprise.assistant.domain.model.ConversationStatus.ACTIVE
+              and c.lastActivityAt < :idleSince
+            order by c.lastActivityAt
+            """)
+    List<Conversation> findIdle(@Param("idleSince") LocalDateTime idleSince, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update Conversation c
+            set c.status = com.enterprise.assistant.domain.model.ConversationStatus.COMPLETED, c.endedAt = :endedAt
+            where c.id in :ids and c.status = com.enterprise.assistant.domain.model.ConversationStatus.ACTIVE
+            """)
+    int completeAll(@Param("ids") Collection<Long> ids, @Param("endedAt") LocalDateTime endedAt);
 }
@@ -1,9 +1,44 @@
 package com.enterprise.assistant.domain.repository;
 
 import com.enterprise.assistant.domain.model.Message;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
+
+    @Query("""
+            select new com.enterprise.assistant.domain.repository.MessageView(
+                m.id, m.role, m.content, m.intent, m.timestamp, m.externalServiceUsed)
+            from Message m
+            where m.conversation.id = :conversationId
+            order by m.timestamp asc, m.id asc
+            """)
+    List<MessageView> findFirstPage(@Param("conversationId") Long conversationId, Limit limit);
+
+    // Keyset: continúa después de (timestamp, id) del último mensaje de la página anterior
+    @Query("""
+            select new com.enterprise.assistant.domain.repository.MessageView(
+                m.id, m.role, m.content, m.intent, m.timestamp, m.externalServiceUsed)
+            from Message m
+            where m.conversation.id = :conversationId
+              and (m.timestamp > :timestamp or (m.timestamp = :timestamp and m.id > :id))
+            order by m.timestamp asc, m.id asc
+            """)
+    List<MessageView> findPageAfter(@Param("conversationId") Long conversationId,
+                                    @Param("timestamp") LocalDateTime timestamp,
+                                    @Param("id") Long id,
+                                    Limit limit);
+
+    @Modifying
+    @Query("delete from Message m where m.conversation.id in :conversationIds")
+    int deleteAllByConversationIds(@Param("conversationIds") Collection<Long> conversationIds);
 }
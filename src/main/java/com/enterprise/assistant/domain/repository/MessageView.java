@@ -0,0 +1,10 @@
+package com.enterprise.assistant.domain.repository;
+
+import com.enterprise.assistant.domain.model.MessageRole;
+
+import java.time.LocalDateTime;
+
+// Proyección de solo lectura para el historial: no crea entidades Message en el contexto de persistencia
+public record MessageView(Long id, MessageRole role, String content, String intent, LocalDateTime timestamp,
+                          String externalServiceUsed) {
+}
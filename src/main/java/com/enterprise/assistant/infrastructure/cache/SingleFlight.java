@@ -0,0 +1,81 @@
+package com.enterprise.assistant.infrastructure.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa llamadas concurrentes con la misma clave: solo el primer llamador ejecuta
+ * el loader y el resto espera el mismo resultado (o la misma excepción).
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Call<V>> inFlight = new ConcurrentHashMap<>();
+    private final IntConsumer callersListener;
+
+    public SingleFlight(IntConsumer callersListener) {
+        this.callersListener = callersListener;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        Call<V> call = new Call<>();
+        Call<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            existing.join();
+            return await(existing.future);
+        }
+
+        try {
+            call.future.complete(loader.get());
+        } catch (Throwable e) {
+            call.future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, call);
+            callersListener.accept(call.close());
+        }
+        return await(call.future);
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Call<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private final AtomicInteger callers = new AtomicInteger(1);
+
+        private void join() {
+            int current;
+            do {
+                current = callers.get();
+                if (current < 0) {
+                    return;
+                }
+            } while (!callers.compareAndSet(current, current + 1));
+        }
+
+        private int close() {
+            return callers.getAndSet(-1);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.enterprise.assistant.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Cache en memoria acotado por tamaño y con expiración por escritura.
+ * Al superar {@code maxSize} se descartan primero las entradas expiradas y luego
+ * la accedida hace más tiempo.
+ */
+public class TtlCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long expireAfterWriteNanos;
+    private final int maxSize;
+    private final Consumer<K> evictionListener;
+
+    public TtlCache(Duration expireAfterWrite, int maxSize, Consumer<K> evictionListener) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.maxSize = maxSize;
+        this.evictionListener = evictionListener;
+    }
+
+    public Entry<V> get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (now - entry.writtenAt >= expireAfterWriteNanos) {
+            return null;
+        }
+        entry.lastAccess = now;
+        return entry;
+    }
+
+    /**
+     * Devuelve la entrada aunque haya expirado. Las entradas expiradas se conservan
+     * hasta que se reemplazan o se descartan por tamaño, para usarlas como respaldo.
+     */
+    public Entry<V> getStale(K key) {
+        return entries.get(key);
+    }
+
+    public void put(K key, V value) {
+        Entry<V> previous = entries.put(key, new Entry<>(value, System.nanoTime()));
+        if (previous == null && entries.size() > maxSize) {
+            evictOverflow();
+        }
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictOverflow() {
+        long now = System.nanoTime();
+        while (entries.size() > maxSize) {
+            K victim = null;
+            Entry<V> victimEntry = null;
+            for (Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+                Entry<V> entry = candidate.getValue();
+                if (now - entry.writtenAt >= expireAfterWriteNanos) {
+                    victim = candidate.getKey();
+                    victimEntry = entry;
+                    break;
+                }
+                if (victimEntry == null || entry.lastAccess < victimEntry.lastAccess) {
+                    victim = candidate.getKey();
+                    victimEntry = entry;
+                }
+            }
+            if (victim == null) {
+                return;
+            }
+            if (entries.remove(victim, victimEntry)) {
+                evictionListener.accept(victim);
+            }
+        }
+    }
+
+    public static final class Entry<V> {
+
+        private final V value;
+        private final long writtenAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+        private volatile long lastAccess;
+
+        private Entry(V value, long writtenAt) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+            this.lastAccess = writtenAt;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        public boolean isOlderThan(Duration age) {
+            return System.nanoTime() - writtenAt >= age.toNanos();
+        }
+
+        /**
+         * Marca la entrada como en refresco. Solo el primer llamador obtiene {@code true}.
+         */
+        public boolean tryStartRefresh() {
+            return refreshing.compareAndSet(false, true);
+        }
+
+        public void refreshFailed() {
+            refreshing.set(false);
+        }
+    }
+}
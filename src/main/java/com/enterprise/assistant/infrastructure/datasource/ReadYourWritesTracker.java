@@ -0,0 +1,51 @@
+package com.enterprise.assistant.infrastructure.datasource;
+
+import com.enterprise.assistant.config.DataSourceRoutingProperties;
+import com.enterprise.assistant.infrastructure.cache.TtlCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Recuerda qué sesiones escribieron hace poco para que sus lecturas no vayan a una réplica
+ * que todavía no recibió esos cambios.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final Object PRIMARY_PIN = new Object();
+
+    private final TtlCache<String, Boolean> recentWrites;
+
+    public ReadYourWritesTracker(DataSourceRoutingProperties properties) {
+        this.recentWrites = new TtlCache<>(properties.getReadYourWritesWindow(),
+                properties.getMaxTrackedSessions(), key -> { });
+    }
+
+    public void recordWrite(String sessionId) {
+        recentWrites.put(sessionId, Boolean.TRUE);
+    }
+
+    /**
+     * Si la sesión escribió dentro de la ventana, fija la transacción de solo lectura en
+     * curso al primario. Debe llamarse antes de la primera consulta de la transacción.
+     */
+    public void routeReadsFor(String sessionId) {
+        if (recentWrites.get(sessionId) == null
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(PRIMARY_PIN)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(PRIMARY_PIN, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PRIMARY_PIN);
+            }
+        });
+    }
+
+    static boolean isPinnedToPrimary() {
+        return TransactionSynchronizationManager.hasResource(PRIMARY_PIN);
+    }
+}
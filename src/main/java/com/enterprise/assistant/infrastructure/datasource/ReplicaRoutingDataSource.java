@@ -0,0 +1,145 @@
+package com.enterprise.assistant.infrastructure.datasource;
+
+import com.enterprise.assistant.application.service.MetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Envía las transacciones de solo lectura a las réplicas (round-robin) y todo lo demás al
+ * primario. Una réplica que falla al dar una conexión o en el chequeo periódico queda
+ * fuera hasta que el chequeo vuelva a pasar; sin réplicas sanas se lee del primario.
+ * <p>
+ * Se usa detrás de un {@code LazyConnectionDataSourceProxy}: la conexión real se pide en
+ * la primera sentencia, cuando la transacción ya quedó marcada como de solo lectura.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final MetricsService metricsService;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration healthCheckInterval,
+                                    MetricsService metricsService) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(index -> new Replica(replicas.get(index), index))
+                .toList();
+        this.metricsService = metricsService;
+        metricsService.registerHealthyReplicas(this::healthyReplicas);
+
+        long interval = healthCheckInterval.toMillis();
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadYourWritesTracker.isPinnedToPrimary()) {
+            return source.open(primary);
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return source.open(replica.dataSource);
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        metricsService.recordReplicaFallback();
+        return source.open(primary);
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Connection validation failed");
+                }
+                if (!replica.healthy) {
+                    log.info("Replica {} is healthy again", replica.index);
+                    replica.healthy = true;
+                }
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    private void markDown(Replica replica, Exception cause) {
+        if (replica.healthy) {
+            log.warn("Replica {} marked down, reading from other replicas or primary: {}",
+                    replica.index, cause.getMessage());
+            replica.healthy = false;
+        }
+    }
+
+    private int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void close() throws Exception {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private final int index;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource, int index) {
+            this.dataSource = dataSource;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.enterprise.assistant.infrastructure.journal;
+
+import com.enterprise.assistant.domain.model.MessageRole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Formato binario de un turno en el journal. Los mensajes de un turno van en un mismo
+ * registro para que se recuperen o se pierdan juntos.
+ */
+final class JournalCodec {
+
+    private static final int VERSION = 1;
+
+    private JournalCodec() {
+    }
+
+    static byte[] encode(List<JournalMessage> messages) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeShort(messages.size());
+            for (JournalMessage message : messages) {
+                out.writeLong(message.conversationId());
+                writeString(out, message.role().name());
+                out.writeLong(message.timestamp().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(message.timestamp().getNano());
+                writeString(out, message.content());
+                writeString(out, message.intent());
+                writeString(out, message.externalServiceUsed());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<JournalMessage> decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported journal record version: " + version);
+            }
+            int count = in.readUnsignedShort();
+            List<JournalMessage> messages = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long conversationId = in.readLong();
+                MessageRole role = MessageRole.valueOf(readString(in));
+                LocalDateTime timestamp = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+                messages.add(new JournalMessage(conversationId, role, readString(in), timestamp,
+                        readString(in), readString(in)));
+            }
+            return messages;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+}
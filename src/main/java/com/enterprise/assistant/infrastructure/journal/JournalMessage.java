@@ -0,0 +1,27 @@
+package com.enterprise.assistant.infrastructure.journal;
+
+import com.enterprise.assistant.domain.model.Conversation;
+import com.enterprise.assistant.domain.model.Message;
+import com.enterprise.assistant.domain.model.MessageRole;
+
+import java.time.LocalDateTime;
+
+public record JournalMessage(long conversationId, MessageRole role, String content, LocalDateTime timestamp,
+                             String intent, String externalServiceUsed) {
+
+    public static JournalMessage from(Message message) {
+        return new JournalMessage(message.getConversation().getId(), message.getRole(), message.getContent(),
+                message.getTimestamp(), message.getIntent(), message.getExternalServiceUsed());
+    }
+
+    public Message toMessage(Conversation conversation) {
+        return Message.builder()
+                .conversation(conversation)
+                .role(role)
+                .content(content)
+                .timestamp(timestamp)
+                .intent(intent)
+                .externalServiceUsed(externalServiceUsed)
+                .build();
+    }
+}
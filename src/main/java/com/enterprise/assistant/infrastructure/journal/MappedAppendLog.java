@@ -0,0 +1,200 @@
+package com.enterprise.assistant.infrastructure.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Log de solo agregado en segmentos de tamaño fijo mapeados en memoria.
+ * Cada registro es {@code (largo, crc32, datos)}; un largo 0 marca el final del segmento
+ * (los segmentos nuevos están llenos de ceros) y un CRC inválido, una escritura cortada.
+ * El checkpoint guarda la posición hasta la que los registros ya se volcaron a la base.
+ * <p>
+ * Usa locks explícitos en lugar de {@code synchronized}: {@link #append} se llama desde los
+ * hilos de los requests y, en Java 21, un hilo virtual que espera un monitor mientras otro
+ * hace {@link #force} queda fijado a su carrier.
+ */
+public class MappedAppendLog {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int HEADER_SIZE = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+
+    private MappedByteBuffer current;
+    private long currentSegment;
+
+    public record Position(long segment, int offset) {
+    }
+
+    public record Recovered(byte[] payload, Position end) {
+    }
+
+    public MappedAppendLog(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Lee los registros posteriores al checkpoint y abre un segmento nuevo para las
+     * escrituras siguientes. Debe llamarse una vez, antes del primer {@link #append}.
+     */
+    public List<Recovered> recover() throws IOException {
+        writeLock.lock();
+        try {
+            return recoverSegments();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public Position append(byte[] payload) throws IOException {
+        writeLock.lock();
+        try {
+            return write(payload);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void force() {
+        writeLock.lock();
+        try {
+            current.force();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Registra que todo lo anterior a {@code position} ya está en la base y borra los
+     * segmentos que quedaron completamente volcados.
+     */
+    public void checkpoint(Position position) throws IOException {
+        checkpointLock.lock();
+        try {
+            ByteBuffer content = ByteBuffer.allocate(12).putLong(position.segment()).putInt(position.offset());
+            Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            Files.write(temp, content.array());
+            Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+
+            for (long segment : listSegments()) {
+                if (segment < position.segment()) {
+                    Files.deleteIfExists(segmentPath(segment));
+                }
+            }
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    private List<Recovered> recoverSegments() throws IOException {
+        Position checkpoint = readCheckpoint();
+        List<Long> segments = listSegments();
+        List<Recovered> recovered = new ArrayList<>();
+
+        for (long segment : segments) {
+            if (segment < checkpoint.segment()) {
+                continue;
+            }
+            int offset = segment == checkpoint.segment() ? checkpoint.offset() : 0;
+            readSegment(segment, offset, recovered);
+        }
+
+        long last = segments.isEmpty() ? checkpoint.segment() : Math.max(segments.get(segments.size() - 1),
+                checkpoint.segment());
+        openSegment(last + 1);
+        return recovered;
+    }
+
+    private Position write(byte[] payload) throws IOException {
+        int needed = HEADER_SIZE + payload.length;
+        if (needed > segmentSize) {
+            throw new IllegalArgumentException("Journal record of " + payload.length + " bytes exceeds segment size");
+        }
+        if (current.remaining() < needed) {
+            current.force();
+            openSegment(currentSegment + 1);
+        }
+
+        int offset = current.position();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        // El largo se escribe último: un registro a medio escribir se lee como fin de segmento
+        current.put(offset + HEADER_SIZE, payload);
+        current.putInt(offset + 4, (int) crc.getValue());
+        current.putInt(offset, payload.length);
+        current.position(offset + needed);
+        return new Position(currentSegment, offset + needed);
+    }
+
+    private void readSegment(long segment, int offset, List<Recovered> recovered) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (offset + HEADER_SIZE <= buffer.capacity()) {
+                int length = buffer.getInt(offset);
+                if (length <= 0 || offset + HEADER_SIZE + length > buffer.capacity()) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(offset + HEADER_SIZE, payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                    break;
+                }
+                offset += HEADER_SIZE + length;
+                recovered.add(new Recovered(payload, new Position(segment, offset)));
+            }
+        }
+    }
+
+    private void openSegment(long segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            current = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        currentSegment = segment;
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return new Position(0, 0);
+        }
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+        return new Position(content.getLong(), content.getInt());
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,261 @@
+package com.enterprise.assistant.infrastructure.journal;
+
+import com.enterprise.assistant.application.service.MetricsService;
+import com.enterprise.assistant.config.JournalProperties;
+import com.enterprise.assistant.domain.model.Message;
+import com.enterprise.assistant.domain.repository.ConversationRepository;
+import com.enterprise.assistant.domain.repository.MessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Escritura diferida de mensajes (write-behind). Cada turno se agrega a un
+ * {@link MappedAppendLog} local y se confirma al cliente; un hilo en segundo plano lo
+ * vuelca a la base en lotes. Al arrancar se reenvían los turnos que quedaron en el log
+ * y al detenerse se vacía la cola.
+ * <p>
+ * La entrega es at-least-once: si el proceso cae entre el commit de un lote y la
+ * escritura del checkpoint, ese lote se vuelve a insertar al reiniciar.
+ */
+@Component
+public class MessageJournal implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageJournal.class);
+
+    private final JournalProperties properties;
+    private final ConversationRepository conversationRepository;
+    private final MessageRepository messageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricsService metricsService;
+
+    private final ConcurrentLinkedQueue<PendingTurn> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingMessages = new AtomicInteger();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private MappedAppendLog appendLog;
+    private ScheduledExecutorService writer;
+    private volatile boolean running;
+
+    public MessageJournal(JournalProperties properties, ConversationRepository conversationRepository,
+                          MessageRepository messageRepository, TransactionTemplate transactionTemplate,
+                          MetricsService metricsService) {
+        this.properties = properties;
+        this.conversationRepository = conversationRepository;
+        this.messageRepository = messageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.metricsService = metricsService;
+        metricsService.registerJournalGauges(pendingMessages::get, this::flushLagMillis);
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Registra los mensajes de un turno. Devuelve {@code false} si el journal no los
+     * aceptó (detenido, con demasiados pendientes o sin disco) y el llamador debe
+     * guardarlos en forma sincrónica.
+     */
+    public boolean append(List<Message> messages) {
+        if (!running) {
+            return false;
+        }
+        if (pendingMessages.get() + messages.size() > properties.getMaxPending()) {
+            metricsService.recordJournalFallback("backlog");
+            return false;
+        }
+
+        List<JournalMessage> turn = messages.stream().map(JournalMessage::from).toList();
+        byte[] payload = JournalCodec.encode(turn);
+        // La cola debe quedar en el mismo orden que el log para que el checkpoint no saltee turnos
+        appendLock.lock();
+        try {
+            MappedAppendLog.Position position = appendLog.append(payload);
+            pending.add(new PendingTurn(turn, position, System.nanoTime()));
+            pendingMessages.addAndGet(turn.size());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not append turn to message journal, writing synchronously: {}", e.getMessage());
+            metricsService.recordJournalFallback("append_error");
+            return false;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            appendLog = new MappedAppendLog(Path.of(properties.getDirectory()),
+                    (int) properties.getSegmentSize().toBytes());
+            List<MappedAppendLog.Recovered> recovered = appendLog.recover();
+            long now = System.nanoTime();
+            for (MappedAppendLog.Recovered record : recovered) {
+                List<JournalMessage> turn = JournalCodec.decode(record.payload());
+                pending.add(new PendingTurn(turn, record.end(), now));
+                pendingMessages.addAndGet(turn.size());
+            }
+            if (!recovered.isEmpty()) {
+                log.warn("Replaying {} journaled turns that were not written to the database", recovered.size());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open message journal at " + properties.getDirectory(), e);
+        }
+
+        long interval = properties.getFlushInterval().toMillis();
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "message-journal"));
+        writer.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Message journal enabled at {} (flush interval {} ms)", properties.getDirectory(), interval);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.shutdown();
+        try {
+            writer.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+        if (pendingMessages.get() > 0) {
+            log.warn("Message journal stopped with {} messages pending; they will be replayed on startup",
+                    pendingMessages.get());
+        } else {
+            log.info("Message journal drained");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Arranca antes y se detiene después que el servidor web, para vaciar la cola sin turnos nuevos
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    void flushSafely() {
+        flushLock.lock();
+        try {
+            appendLog.force();
+            while (!pending.isEmpty()) {
+                if (!flushBatch()) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Message journal flush failed, retrying in {}: {}",
+                    properties.getFlushInterval(), e.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean flushBatch() {
+        List<PendingTurn> batch = new ArrayList<>();
+        int messages = 0;
+        for (PendingTurn turn : pending) {
+            batch.add(turn);
+            messages += turn.messages().size();
+            if (messages >= properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        try {
+            persist(batch);
+        } catch (DataIntegrityViolationException e) {
+            // Un turno inválido (por ejemplo, de una conversación borrada) no debe trabar la cola
+            persistOneByOne(batch);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            pending.poll();
+        }
+        pendingMessages.addAndGet(-messages);
+        metricsService.recordJournalFlush(messages);
+        try {
+            appendLog.checkpoint(batch.get(batch.size() - 1).position());
+        } catch (IOException e) {
+            log.warn("Could not write message journal checkpoint: {}", e.getMessage());
+        }
+        return true;
+    }
+
+    private void persistOneByOne(List<PendingTurn> batch) {
+        for (PendingTurn turn : batch) {
+            try {
+                persist(List.of(turn));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Dropping journaled turn for conversation {}: {}",
+                        turn.messages().get(0).conversationId(), e.getMessage());
+                metricsService.recordJournalDropped(turn.messages().size());
+            }
+        }
+    }
+
+    private void persist(List<PendingTurn> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Message> messages = new ArrayList<>();
+            Map<Long, Activity> activity = new HashMap<>();
+            for (PendingTurn turn : batch) {
+                for (JournalMessage message : turn.messages()) {
+                    messages.add(message.toMessage(conversationRepository.getReferenceById(message.conversationId())));
+                    activity.merge(message.conversationId(), new Activity(1, message.timestamp()), Activity::plus);
+                }
+            }
+            messageRepository.saveAll(messages);
+            // Un UPDATE de contadores por conversación del lote, no por mensaje
+            activity.forEach((conversationId, added) ->
+                    conversationRepository.recordMessages(conversationId, added.messages(), added.lastAt()));
+        });
+    }
+
+    private long flushLagMillis() {
+        PendingTurn oldest = pending.peek();
+        return oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.appendedAt());
+    }
+
+    private record Activity(int messages, LocalDateTime lastAt) {
+
+        Activity plus(Activity other) {
+            return new Activity(messages + other.messages, other.lastAt.isAfter(lastAt) ? other.lastAt : lastAt);
+        }
+    }
+
+    private record PendingTurn(List<JournalMessage> messages, MappedAppendLog.Position position, long appendedAt) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.enterprise.assistant.infrastructure.ratelimit;
+
+import com.enterprise.assistant.application.service.MetricsService;
+import com.enterprise.assistant.config.RateLimitProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket compartido entre instancias a través de la base de datos.
+ * Cada nodo obtiene los tokens en lotes (lease) y los consume localmente, por lo que
+ * la base solo se consulta una vez cada {@code leaseSize} llamadas. Los llamadores sin
+ * token esperan hasta {@code maxWait} en una cola acotada ordenada por prioridad.
+ */
+@Component
+public class DistributedRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(DistributedRateLimiter.class);
+
+    private static final long STORE_ERROR_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final TokenBucketStore store;
+    private final RateLimitProperties properties;
+    private final MetricsService metricsService;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+            Comparator.comparing(Waiter::priority).thenComparingLong(Waiter::sequence));
+
+    private long sequence;
+    private int localTokens;
+    private long leaseExpiresAt;
+    private long nextLeaseAttemptAt;
+    private boolean leasing;
+
+    public DistributedRateLimiter(TokenBucketStore store, RateLimitProperties properties,
+                                  MetricsService metricsService) {
+        this.store = store;
+        this.properties = properties;
+        this.metricsService = metricsService;
+        this.nextLeaseAttemptAt = System.nanoTime();
+        metricsService.registerRateLimitQueueDepth(this::queueDepth);
+    }
+
+    public void acquire(RatePriority priority) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long deadline = System.nanoTime() + properties.getMaxWait().toNanos();
+
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && takeLocalToken()) {
+                return;
+            }
+            if (waiters.size() >= properties.getMaxQueueSize()) {
+                metricsService.recordRateLimitRejection("queue_full");
+                throw new RateLimitExceededException("Weather API rate limit queue is full");
+            }
+
+            Waiter waiter = new Waiter(priority, sequence++);
+            waiters.add(waiter);
+            try {
+                awaitToken(waiter, deadline);
+            } finally {
+                waiters.remove(waiter);
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitToken(Waiter waiter, long deadline) {
+        while (true) {
+            long now = System.nanoTime();
+            if (waiters.peek() == waiter) {
+                if (takeLocalToken()) {
+                    return;
+                }
+                if (!leasing && now - nextLeaseAttemptAt >= 0) {
+                    renewLease();
+                    continue;
+                }
+            }
+
+            long remaining = deadline - now;
+            if (remaining <= 0) {
+                metricsService.recordRateLimitRejection("timeout");
+                throw new RateLimitExceededException("Timed out waiting for a weather API token");
+            }
+            try {
+                changed.awaitNanos(waiters.peek() == waiter && !leasing
+                        ? Math.min(remaining, Math.max(nextLeaseAttemptAt - now, 1))
+                        : remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RateLimitExceededException("Interrupted while waiting for a weather API token");
+            }
+        }
+    }
+
+    // Se libera el lock durante el acceso a la base para que otros hilos puedan encolarse
+    private void renewLease() {
+        leasing = true;
+        TokenLease lease = null;
+        lock.unlock();
+        try {
+            lease = leaseFromStore();
+        } catch (RuntimeException e) {
+            log.warn("Could not lease rate limit tokens: {}", e.getMessage());
+        } finally {
+            lock.lock();
+            leasing = false;
+        }
+
+        long now = System.nanoTime();
+        if (lease == null) {
+            nextLeaseAttemptAt = now + STORE_ERROR_BACKOFF_NANOS;
+        } else if (lease.granted() > 0) {
+            localTokens = lease.granted();
+            leaseExpiresAt = now + properties.getLeaseTtl().toNanos();
+            metricsService.recordRateLimitLease(lease.granted());
+        } else {
+            nextLeaseAttemptAt = now + lease.retryAfter().toNanos();
+        }
+        changed.signalAll();
+    }
+
+    private TokenLease leaseFromStore() {
+        try {
+            return store.lease(properties.getBucket(), properties.getLeaseSize(),
+                    properties.getCapacity(), properties.getRefillPeriod());
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia creó el bucket al mismo tiempo, reintentar sobre la fila existente
+            return store.lease(properties.getBucket(), properties.getLeaseSize(),
+                    properties.getCapacity(), properties.getRefillPeriod());
+        }
+    }
+
+    private boolean takeLocalToken() {
+        if (localTokens > 0 && System.nanoTime() - leaseExpiresAt >= 0) {
+            localTokens = 0;
+        }
+        if (localTokens == 0) {
+            return false;
+        }
+        localTokens--;
+        return true;
+    }
+
+    int queueDepth() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Waiter(RatePriority priority, long sequence) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.enterprise.assistant.infrastructure.ratelimit;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "rate_limit_buckets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitBucket {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private double tokens;
+
+    // Epoch millis de la última recarga
+    @Column(nullable = false)
+    private long refilledAt;
+}
@@ -0,0 +1,10 @@
+package com.enterprise.assistant.infrastructure.ratelimit;
+
+import com.enterprise.assistant.infrastructure.external.ExternalServiceException;
+
+public class RateLimitExceededException extends ExternalServiceException {
+
+    public RateLimitExceededException(String message) {
+        super(message, null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.enterprise.assistant.infrastructure.ratelimit;
+
+// Orden de declaración = prioridad en la cola de espera
+public enum RatePriority {
+    INTERACTIVE,
+    BACKGROUND
+}
@@ -0,0 +1,35 @@
+package com.enterprise.assistant.infrastructure.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+public class TokenBucketStore {
+
+    private final RateLimitBucketRepository repository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public TokenLease lease(String name, int requested, int capacity, Duration refillPeriod) {
+        long now = System.currentTimeMillis();
+        RateLimitBucket bucket = repository.findForUpdate(name)
+                .orElseGet(() -> repository.saveAndFlush(new RateLimitBucket(name, capacity, now)));
+
+        double tokensPerMilli = (double) capacity / refillPeriod.toMillis();
+        long elapsed = Math.max(0, now - bucket.getRefilledAt());
+        double available = Math.min(capacity, bucket.getTokens() + elapsed * tokensPerMilli);
+
+        int granted = (int) Math.min(requested, Math.floor(available));
+        bucket.setTokens(available - granted);
+        bucket.setRefilledAt(Math.max(now, bucket.getRefilledAt()));
+
+        Duration retryAfter = granted > 0
+                ? Duration.ZERO
+                : Duration.ofMillis((long) Math.ceil((1 - bucket.getTokens()) / tokensPerMilli));
+        return new TokenLease(granted, retryAfter);
+    }
+}
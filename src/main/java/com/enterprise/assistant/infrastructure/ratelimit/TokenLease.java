@@ -0,0 +1,6 @@
+package com.enterprise.assistant.infrastructure.ratelimit;
+
+import java.time.Duration;
+
+public record TokenLease(int granted, Duration retryAfter) {
+}
@@ -0,0 +1,80 @@
+package com.enterprise.assistant.infrastructure.retention;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Particiones mensuales de {@code messages} en PostgreSQL (una por mes, por rango de
+ * {@code timestamp}). Crea las de los próximos meses y elimina las vencidas con
+ * {@code DETACH ... CONCURRENTLY} + {@code DROP TABLE}, sin borrar filas una por una.
+ */
+public class MessagePartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(MessagePartitionManager.class);
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("messages_p(\\d{6})");
+
+    private final JdbcTemplate jdbc;
+
+    public MessagePartitionManager(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void createPartitions(YearMonth from, int months) {
+        for (int i = 0; i <= months; i++) {
+            YearMonth month = from.plusMonths(i);
+            jdbc.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF messages"
+                    + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+    }
+
+    /**
+     * Elimina las particiones de meses anteriores a {@code cutoff}. Devuelve las eliminadas.
+     */
+    public List<String> dropPartitionsBefore(YearMonth cutoff) {
+        List<String> dropped = new ArrayList<>();
+        for (Map<String, Object> partition : partitions()) {
+            String name = (String) partition.get("relname");
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (!matcher.matches() || !YearMonth.parse(matcher.group(1), SUFFIX).isBefore(cutoff)) {
+                continue;
+            }
+            // Un DETACH CONCURRENTLY interrumpido deja la partición pendiente y solo admite FINALIZE
+            String detach = Boolean.TRUE.equals(partition.get("inhdetachpending")) ? " FINALIZE" : " CONCURRENTLY";
+            try {
+                // CONCURRENTLY no bloquea las escrituras en messages; no puede ir dentro de una transacción
+                jdbc.execute("ALTER TABLE messages DETACH PARTITION " + name + detach);
+                jdbc.execute("DROP TABLE " + name);
+                dropped.add(name);
+            } catch (RuntimeException e) {
+                log.warn("Could not drop partition {}, retrying on next run: {}", name, e.getMessage());
+            }
+        }
+        return dropped;
+    }
+
+    private List<Map<String, Object>> partitions() {
+        return jdbc.queryForList("""
+                SELECT child.relname, pg_inherits.inhdetachpending
+                FROM pg_inherits
+                JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+                WHERE parent.relname = 'messages'
+                ORDER BY child.relname
+                """);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "messages_p" + month.format(SUFFIX);
+    }
+}
@@ -0,0 +1,115 @@
+package com.enterprise.assistant.infrastructure.retention;
+
+import com.enterprise.assistant.application.service.ConversationArchiveService;
+import com.enterprise.assistant.application.service.MetricsService;
+import com.enterprise.assistant.config.RetentionProperties;
+import com.enterprise.assistant.infrastructure.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tarea periódica de retención, en cada shard: crea las particiones de los próximos
+ * meses, archiva las conversaciones finalizadas viejas y elimina las particiones de
+ * mensajes vencidas. Se archiva antes de eliminar particiones para que los mensajes de
+ * una conversación completada lleguen al archivo.
+ */
+@Component
+public class RetentionScheduler implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RetentionScheduler.class);
+
+    private final RetentionProperties properties;
+    private final ConversationArchiveService archiveService;
+    private final ShardRouter shardRouter;
+    private final MetricsService metricsService;
+    private final MessagePartitionManager partitions;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public RetentionScheduler(RetentionProperties properties, ConversationArchiveService archiveService,
+                              ShardRouter shardRouter, MetricsService metricsService, JdbcTemplate jdbcTemplate) {
+        this.properties = properties;
+        this.archiveService = archiveService;
+        this.shardRouter = shardRouter;
+        this.metricsService = metricsService;
+        this.partitions = new MessagePartitionManager(jdbcTemplate);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (properties.isPartitionedMessages()
+                && properties.getArchiveAfter().toDays() > properties.getMessageRetentionMonths() * 28L) {
+            // Las particiones se eliminarían antes de que sus conversaciones llegaran al archivo
+            throw new IllegalStateException("app.retention.archive-after exceeds message-retention-months");
+        }
+        long interval = properties.getInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Primera corrida al arrancar, así las particiones del mes existen antes de recibir mensajes
+        scheduler.scheduleWithFixedDelay(this::runSafely, 0, interval, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (running) {
+            running = false;
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void runSafely() {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            try {
+                int target = shard;
+                shardRouter.onShard(shard, () -> {
+                    runOnShard(target);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.error("Retention run failed on shard {}: {}", shard, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void runOnShard(int shard) {
+        YearMonth currentMonth = YearMonth.now();
+        if (properties.isPartitionedMessages()) {
+            partitions.createPartitions(currentMonth, properties.getPrecreateMonths());
+        }
+
+        LocalDateTime endedBefore = LocalDateTime.now().minus(properties.getArchiveAfter());
+        archiveService.archiveCompletedBefore(endedBefore, properties.getArchiveBatchSize());
+
+        if (properties.isPartitionedMessages()) {
+            List<String> dropped = partitions.dropPartitionsBefore(
+                    currentMonth.minusMonths(properties.getMessageRetentionMonths()));
+            if (!dropped.isEmpty()) {
+                log.info("Dropped expired message partitions on shard {}: {}", shard, dropped);
+                metricsService.recordPartitionsDropped(dropped.size());
+            }
+        }
+    }
+}
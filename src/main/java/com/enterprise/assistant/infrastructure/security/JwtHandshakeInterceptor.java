@@ -0,0 +1,56 @@
+package com.enterprise.assistant.infrastructure.security;
+
+import com.enterprise.assistant.application.service.AuthService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * Equivalente a {@link JwtInterceptor} para el handshake de WebSocket: el token se valida
+ * una sola vez por conexión y no en cada mensaje. Los navegadores no pueden enviar headers
+ * en el handshake, así que también se acepta el parámetro {@code access_token}.
+ */
+@Component
+@RequiredArgsConstructor
+@Profile("!test")
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String USERNAME = "username";
+    public static final String TOKEN_EXPIRES_AT = "tokenExpiresAt";
+
+    private final AuthService authService;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String token = token(request);
+        if (token == null || !authService.validateToken(token)) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        attributes.put(USERNAME, authService.extractUsername(token));
+        attributes.put(TOKEN_EXPIRES_AT, authService.extractExpiration(token));
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    private static String token(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        return UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("access_token");
+    }
+}
@@ -34,6 +34,10 @@ public class JwtUtil {
         return extractAllClaims(token).getSubject();
     }
 
+    public Date extractExpiration(String token) {
+        return extractAllClaims(token).getExpiration();
+    }
+
     public boolean validateToken(String token) {
         try {
             extractAllClaims(token);
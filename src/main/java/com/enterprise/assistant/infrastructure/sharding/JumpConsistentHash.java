@@ -0,0 +1,41 @@
+package com.enterprise.assistant.infrastructure.sharding;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Jump consistent hash (Lamping y Veach): al pasar de n a n + 1 shards solo se mueve
+ * 1/(n + 1) de las claves, y siempre hacia el shard nuevo.
+ */
+public final class JumpConsistentHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private JumpConsistentHash() {
+    }
+
+    public static int shard(String key, int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("buckets must be positive");
+        }
+        long hash = fnv1a(key);
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            hash = hash * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((hash >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+
+    // FNV-1a de 64 bits: String.hashCode tiene 32 bits y distribuye mal claves parecidas
+    private static long fnv1a(String key) {
+        long hash = FNV_OFFSET;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
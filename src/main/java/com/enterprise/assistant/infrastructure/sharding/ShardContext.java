@@ -0,0 +1,33 @@
+package com.enterprise.assistant.infrastructure.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard asociado al hilo actual. {@link ShardRoutingDataSource} lo lee al abrir cada
+ * conexión; sin shard asociado se usa el 0.
+ */
+final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    static Integer current() {
+        return CURRENT.get();
+    }
+
+    static <T> T call(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
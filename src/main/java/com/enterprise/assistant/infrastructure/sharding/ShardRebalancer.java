@@ -0,0 +1,131 @@
+package com.enterprise.assistant.infrastructure.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mueve conversaciones al agregar shards. Con jump hash, al pasar de {@code from} a
+ * {@code to} shards las claves solo se mueven de los shards viejos a los nuevos, así que
+ * alcanza con recorrer los primeros {@code from}.
+ * <p>
+ * Cada conversación se copia (con sus mensajes e ids) en una transacción sobre el destino
+ * y después se borra del origen en otra. Si el proceso se corta entre ambas, al volver a
+ * correrlo la encuentra ya copiada y solo la borra. Debe ejecutarse sin tráfico de
+ * escritura (ver {@code docs/sharding.md}). Las conversaciones archivadas
+ * ({@code conversation_archive}) se mueven igual, por el mismo sessionId.
+ */
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final int PAGE_SIZE = 500;
+
+    private final List<DataSource> shards;
+
+    public ShardRebalancer(List<DataSource> shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Redistribuye las conversaciones de los shards {@code [0, from)} entre {@code to}
+     * shards. Devuelve la cantidad de conversaciones movidas.
+     */
+    public long rebalance(int from, int to) {
+        if (from < 1 || to <= from || to > shards.size()) {
+            throw new IllegalArgumentException("Cannot rebalance from " + from + " to " + to
+                    + " shards with " + shards.size() + " configured");
+        }
+        long moved = 0;
+        for (int source = 0; source < from; source++) {
+            moved += rebalanceShard(source, to, "conversations");
+            moved += rebalanceShard(source, to, "conversation_archive");
+        }
+        log.info("Rebalance from {} to {} shards finished: {} conversations moved", from, to, moved);
+        return moved;
+    }
+
+    private long rebalanceShard(int source, int to, String table) {
+        JdbcTemplate sourceJdbc = new JdbcTemplate(shards.get(source));
+        long moved = 0;
+        long lastId = 0;
+        while (true) {
+            List<Map<String, Object>> page = sourceJdbc.queryForList(
+                    "SELECT id, session_id FROM " + table + " WHERE id > ? ORDER BY id LIMIT " + PAGE_SIZE, lastId);
+            if (page.isEmpty()) {
+                return moved;
+            }
+            for (Map<String, Object> row : page) {
+                long id = ((Number) row.get("id")).longValue();
+                // Con la columna UUID el driver devuelve java.util.UUID; toString da la forma canónica
+                int target = JumpConsistentHash.shard(String.valueOf(row.get("session_id")), to);
+                if (target != source) {
+                    move(table, id, source, target);
+                    moved++;
+                }
+                lastId = id;
+            }
+            log.info("Shard {}: {} rows of {} moved so far", source, moved, table);
+        }
+    }
+
+    private void move(String table, long id, int source, int target) {
+        JdbcTemplate sourceJdbc = new JdbcTemplate(shards.get(source));
+        JdbcTemplate targetJdbc = new JdbcTemplate(shards.get(target));
+        boolean withMessages = table.equals("conversations");
+
+        transaction(target).executeWithoutResult(status -> {
+            Integer existing = targetJdbc.queryForObject(
+                    "SELECT COUNT(*) FROM " + table + " WHERE id = ?", Integer.class, id);
+            if (existing != null && existing > 0) {
+                return;
+            }
+            copyRows(sourceJdbc.queryForRowSet("SELECT * FROM " + table + " WHERE id = ?", id), targetJdbc, table);
+            if (withMessages) {
+                copyRows(sourceJdbc.queryForRowSet("SELECT * FROM messages WHERE conversation_id = ?", id),
+                        targetJdbc, "messages");
+            }
+        });
+
+        transaction(source).executeWithoutResult(status -> {
+            if (withMessages) {
+                sourceJdbc.update("DELETE FROM messages WHERE conversation_id = ?", id);
+            }
+            sourceJdbc.update("DELETE FROM " + table + " WHERE id = ?", id);
+        });
+    }
+
+    // Copia genérica por nombre de columna: no depende del mapeo de las entidades
+    private static void copyRows(SqlRowSet rows, JdbcTemplate target, String table) {
+        SqlRowSetMetaData metaData = rows.getMetaData();
+        String[] columns = metaData.getColumnNames();
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+
+        List<Object[]> batch = new ArrayList<>();
+        while (rows.next()) {
+            Object[] values = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = rows.getObject(i + 1);
+            }
+            batch.add(values);
+        }
+        if (!batch.isEmpty()) {
+            target.batchUpdate(sql, batch);
+        }
+    }
+
+    private TransactionTemplate transaction(int shard) {
+        return new TransactionTemplate(new DataSourceTransactionManager(shards.get(shard)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.enterprise.assistant.infrastructure.sharding;
+
+import com.enterprise.assistant.config.ShardingProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Decide en qué shard vive cada conversación (jump hash del sessionId) y asocia ese shard
+ * al hilo mientras corre una operación. Sin sharding hay un único shard y las operaciones
+ * corren tal cual.
+ * <p>
+ * En métodos {@code @Transactional} el shard debe asociarse antes de la primera consulta.
+ */
+@Component
+public class ShardRouter {
+
+    private final ShardingProperties properties;
+    private final AsyncTaskExecutor fanOutExecutor;
+
+    public ShardRouter(ShardingProperties properties,
+                       @Qualifier("shardFanOutExecutor") AsyncTaskExecutor fanOutExecutor) {
+        this.properties = properties;
+        this.fanOutExecutor = fanOutExecutor;
+    }
+
+    public boolean isSharded() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Shards que reciben conversaciones. Durante un rebalanceo puede haber más shards
+     * configurados que activos.
+     */
+    public int shardCount() {
+        if (!properties.isEnabled()) {
+            return 1;
+        }
+        int active = properties.getActiveShards();
+        return active > 0 ? active : properties.getShards().size();
+    }
+
+    public int shardFor(String sessionId) {
+        // Forma canónica del UUID: un cliente que lo envía en mayúsculas llega al mismo shard
+        return JumpConsistentHash.shard(sessionId.toLowerCase(Locale.ROOT), shardCount());
+    }
+
+    /**
+     * Corre {@code action} en el shard de la sesión. Con {@code sessionId} null (conversación
+     * todavía sin id) no asocia ningún shard.
+     */
+    public <T> T onSession(String sessionId, Supplier<T> action) {
+        if (!properties.isEnabled() || sessionId == null) {
+            return action.get();
+        }
+        return ShardContext.call(shardFor(sessionId), action);
+    }
+
+    public void onSession(String sessionId, Runnable action) {
+        onSession(sessionId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T onShard(int shard, Supplier<T> action) {
+        if (!properties.isEnabled()) {
+            return action.get();
+        }
+        return ShardContext.call(shard, action);
+    }
+
+    /**
+     * Lanza {@code action} en paralelo, una vez por shard activo, cada una con su shard
+     * asociado. Cancelar un {@code Future} interrumpe el hilo correspondiente.
+     */
+    public <T> List<Future<T>> submitToEachShard(IntFunction<T> action) {
+        List<Future<T>> futures = new ArrayList<>();
+        for (int shard = 0; shard < shardCount(); shard++) {
+            int target = shard;
+            futures.add(fanOutExecutor.submit(() -> onShard(target, () -> action.apply(target))));
+        }
+        return futures;
+    }
+}
@@ -0,0 +1,53 @@
+package com.enterprise.assistant.infrastructure.sharding;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Entrega conexiones del shard asociado al hilo ({@link ShardRouter}). Se usa detrás de
+ * un {@code LazyConnectionDataSourceProxy}, así una transacción toma el shard que esté
+ * asociado al ejecutar su primera sentencia y lo mantiene hasta terminar.
+ */
+public class ShardRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    public List<DataSource> shards() {
+        return shards;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return current().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return current().getConnection(username, password);
+    }
+
+    private DataSource current() {
+        Integer shard = ShardContext.current();
+        return shards.get(shard == null ? 0 : shard);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.enterprise.assistant.infrastructure.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.relational.SchemaManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Prepara shards vacíos: crea el esquema en los shards que Hibernate no inicializa (solo
+ * ve el 0) y separa las secuencias de ids. El shard {@code i} toma los bloques de 50 ids
+ * número {@code i}, {@code i + stripes}, {@code i + 2 * stripes}... así los ids nunca se
+ * repiten entre shards y una conversación puede moverse de shard conservándolos.
+ * <p>
+ * Solo para bases nuevas: reinicia las secuencias. En producción se usa
+ * {@code docs/sql/003-shard-id-stripes.sql}.
+ */
+public class ShardSchemaInitializer implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    // Debe coincidir con allocationSize de las entidades
+    private static final int ALLOCATION_SIZE = 50;
+    private static final List<String> SEQUENCES = List.of("conversations_seq", "messages_seq");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ShardRoutingDataSource shards;
+    private final int idStripes;
+
+    public ShardSchemaInitializer(EntityManagerFactory entityManagerFactory, ShardRoutingDataSource shards,
+                                  int idStripes) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.shards = shards;
+        this.idStripes = idStripes;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SchemaManager schemaManager = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+        List<DataSource> dataSources = shards.shards();
+        for (int shard = 0; shard < dataSources.size(); shard++) {
+            if (shard > 0) {
+                ShardContext.call(shard, () -> {
+                    schemaManager.exportMappedObjects(true);
+                    return null;
+                });
+            }
+            stripeSequences(new JdbcTemplate(dataSources.get(shard)), shard);
+        }
+        log.info("Initialized schema and id sequences on {} shards", dataSources.size());
+    }
+
+    private void stripeSequences(JdbcTemplate jdbc, int shard) {
+        long start = (long) ALLOCATION_SIZE * (shard + 1);
+        long increment = (long) ALLOCATION_SIZE * idStripes;
+        for (String sequence : SEQUENCES) {
+            jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + start + " INCREMENT BY " + increment);
+        }
+    }
+}
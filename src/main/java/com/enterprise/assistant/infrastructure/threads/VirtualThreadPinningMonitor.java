@@ -0,0 +1,94 @@
+package com.enterprise.assistant.infrastructure.threads;
+
+import com.enterprise.assistant.application.service.MetricsService;
+import com.enterprise.assistant.config.VirtualThreadProperties;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Con hilos virtuales, escucha el evento JFR {@code jdk.VirtualThreadPinned}: un hilo
+ * virtual que se bloquea dentro de un {@code synchronized} (o de código nativo) retiene
+ * su carrier y reduce el paralelismo de todos los demás. Cada caso se cuenta en
+ * {@code threads.virtual.pinned}, etiquetado con el primer método propio de la pila, y se
+ * loguea la primera vez que aparece cada ubicación.
+ */
+@Component
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String OWN_PACKAGE = "com.enterprise.assistant.";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final VirtualThreadProperties properties;
+    private final MetricsService metricsService;
+    private final boolean virtualThreads;
+    private final Set<String> reportedLocations = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(VirtualThreadProperties properties, MetricsService metricsService,
+                                       Environment environment) {
+        this.properties = properties;
+        this.metricsService = metricsService;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    @Override
+    public void start() {
+        if (!virtualThreads || !properties.isMonitorPinning()) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(properties.getPinningThreshold()).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Monitoring virtual thread pinning longer than {} ms", properties.getPinningThreshold().toMillis());
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String location = frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .filter(method -> method.startsWith(OWN_PACKAGE))
+                .findFirst()
+                .map(method -> method.substring(OWN_PACKAGE.length()))
+                .orElse("external");
+        metricsService.recordVirtualThreadPinned(location, event.getDuration());
+        if (reportedLocations.add(location)) {
+            log.warn("Virtual thread pinned for {} ms at {}:\n{}", event.getDuration().toMillis(), location,
+                    frames.stream()
+                            .limit(LOGGED_FRAMES)
+                            .map(frame -> "\tat " + frame.getMethod().getType().getName() + "."
+                                    + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                            .collect(Collectors.joining("\n")));
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.enterprise.assistant.api.controller;
 
+import com.enterprise.assistant.api.dto.ConversationBatchResponse;
+import com.enterprise.assistant.api.dto.ConversationBatchResult;
 import com.enterprise.assistant.api.dto.ConversationRequest;
 import com.enterprise.assistant.api.dto.ConversationResponse;
+import com.enterprise.assistant.application.service.ConversationBatchService;
+import com.enterprise.assistant.application.service.ConversationExportService;
 import com.enterprise.assistant.application.service.ConversationService;
+import com.enterprise.assistant.application.service.ConversationStreamService;
+import com.enterprise.assistant.application.service.SessionBusyException;
 import com.enterprise.assistant.domain.model.Intent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -12,10 +18,14 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +43,15 @@ class ConversationControllerTest {
     @MockitoBean
     private ConversationService conversationService;
 
+    @MockitoBean
+    private ConversationExportService exportService;
+
+    @MockitoBean
+    private ConversationStreamService streamService;
+
+    @MockitoBean
+    private ConversationBatchService batchService;
+
     @Test
     void processMessageOk() throws Exception {
         ConversationRequest request = ConversationRequest.builder()
@@ -87,6 +106,104 @@ class ConversationControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    void busySessionReturnsTooManyRequests() throws Exception {
+        when(conversationService.processMessage(any(ConversationRequest.class)))
+                .thenThrow(new SessionBusyException("Too many pending messages for session s1"));
+
+        mockMvc.perform(post("/api/conversations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":\"user123\",\"sessionId\":\"s1\",\"message\":\"Hola\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.status").value(429));
+    }
+
+    @Test
+    void streamSendsEventsAsTurnProgresses() throws Exception {
+        doAnswer(invocation -> {
+            ConversationStreamService.Listener listener = invocation.getArgument(1);
+            listener.intentDetected("s1", Intent.WEATHER_QUERY);
+            listener.replyReady("El clima en Madrid", "OpenWeather");
+            listener.persisted(ConversationResponse.builder().sessionId("s1").conversationActive(true).build());
+            return null;
+        }).when(streamService).stream(any(ConversationRequest.class), any());
+
+        MvcResult result = mockMvc.perform(post("/api/conversations/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content("{\"userId\":\"user123\",\"message\":\"Clima en Madrid\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String content = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(content).containsSubsequence(
+                "event:intent", "\"intent\":\"WEATHER_QUERY\"",
+                "event:reply", "El clima en Madrid",
+                "event:persisted", "\"sessionId\":\"s1\"");
+    }
+
+    @Test
+    void streamReportsFailedTurnAsErrorEvent() throws Exception {
+        doAnswer(invocation -> {
+            ConversationStreamService.Listener listener = invocation.getArgument(1);
+            listener.failed(new SessionBusyException("Too many pending messages for session s1"));
+            return null;
+        }).when(streamService).stream(any(ConversationRequest.class), any());
+
+        MvcResult result = mockMvc.perform(post("/api/conversations/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":\"user123\",\"sessionId\":\"s1\",\"message\":\"Hola\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String content = mockMvc.perform(asyncDispatch(result))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(content).contains("event:error").contains("\"status\":429");
+    }
+
+    @Test
+    void streamValidatesBeforeStarting() throws Exception {
+        mockMvc.perform(post("/api/conversations/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"message\":\"Hola\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(streamService);
+    }
+
+    @Test
+    void batchReturnsResultPerMessage() throws Exception {
+        when(batchService.process(anyList())).thenReturn(ConversationBatchResponse.builder()
+                .results(List.of(
+                        ConversationBatchResult.builder().index(0).status(200)
+                                .response(ConversationResponse.builder().sessionId("s1").build()).build(),
+                        ConversationBatchResult.builder().index(1).status(400).build()))
+                .succeeded(1)
+                .failed(1)
+                .build());
+
+        mockMvc.perform(post("/api/conversations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"messages\":[{\"userId\":\"u1\",\"message\":\"Hola\"},{\"userId\":\"u1\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].response.sessionId").value("s1"))
+                .andExpect(jsonPath("$.results[1].status").value(400))
+                .andExpect(jsonPath("$.results[1].response").doesNotExist())
+                .andExpect(jsonPath("$.failed").value(1));
+    }
+
+    @Test
+    void batchRejectsEmptyRequest() throws Exception {
+        mockMvc.perform(post("/api/conversations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"messages\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(batchService);
+    }
+
     @Test
     void endConversation() throws Exception {
         doNothing().when(conversationService).endConversation("test-session");
@@ -98,4 +215,14 @@ class ConversationControllerTest {
         mockMvc.perform(delete("/api/conversations/invalid"))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void exportRejectsInvertedRange() throws Exception {
+        mockMvc.perform(get("/api/conversations/export")
+                        .param("from", "2025-02-01T00:00:00")
+                        .param("to", "2025-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportService);
+    }
 }
@@ -0,0 +1,136 @@
+package com.enterprise.assistant.api.websocket;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Timeout de inactividad corto para poder verificarlo; los turnos de cada test tardan mucho menos
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.websocket.idle-timeout=2s")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConversationWebSocketIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private final CompletableFuture<CloseStatus> closed = new CompletableFuture<>();
+    private WebSocketSession socket;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (socket != null && socket.isOpen()) {
+            socket.close();
+        }
+    }
+
+    @Test
+    void exchangesTurnsOverOneConnection() throws Exception {
+        connect("userId=user123");
+
+        String first = send("{\"message\":\"Hola\"}");
+        assertThat(JsonPath.<String>read(first, "$.type")).isEqualTo("reply");
+        assertThat(JsonPath.<String>read(first, "$.response.intent")).isEqualTo("GREETING");
+        String sessionId = JsonPath.read(first, "$.response.sessionId");
+
+        String second = send("{\"message\":\"Ayuda\"}");
+        assertThat(JsonPath.<String>read(second, "$.response.sessionId")).isEqualTo(sessionId);
+        assertThat(JsonPath.<String>read(second, "$.response.intent")).isEqualTo("HELP");
+
+        String history = mockMvc.perform(get("/api/conversations/{sessionId}", sessionId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(JsonPath.<Integer>read(history, "$.messageCount")).isEqualTo(4);
+    }
+
+    @Test
+    void invalidMessagesGetErrorsAndKeepConnectionOpen() throws Exception {
+        connect("userId=user123");
+
+        String empty = send("{\"message\":\"\"}");
+        assertThat(JsonPath.<String>read(empty, "$.type")).isEqualTo("error");
+        assertThat(JsonPath.<Integer>read(empty, "$.error.status")).isEqualTo(400);
+        assertThat(JsonPath.<String>read(empty, "$.error.message")).isEqualTo("Message cannot be empty");
+
+        String malformed = send("Hola");
+        assertThat(JsonPath.<String>read(malformed, "$.error.message")).isEqualTo("Malformed message");
+
+        assertThat(JsonPath.<String>read(send("{\"message\":\"Hola\"}"), "$.type")).isEqualTo("reply");
+    }
+
+    @Test
+    void bindsToExistingConversation() throws Exception {
+        String sessionId = JsonPath.read(mockMvc.perform(post("/api/conversations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":\"user123\",\"message\":\"Hola\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), "$.sessionId");
+
+        connect("sessionId=" + sessionId + "&userId=user123");
+
+        assertThat(JsonPath.<String>read(send("{\"message\":\"Ayuda\"}"), "$.response.sessionId"))
+                .isEqualTo(sessionId);
+    }
+
+    @Test
+    void closesConnectionWithoutUser() throws Exception {
+        connect("");
+
+        assertThat(closed.get(5, TimeUnit.SECONDS).getCode()).isEqualTo(CloseStatus.POLICY_VIOLATION.getCode());
+    }
+
+    @Test
+    void closesIdleConnection() throws Exception {
+        connect("userId=user123");
+        send("{\"message\":\"Hola\"}");
+
+        assertThat(closed.get(10, TimeUnit.SECONDS).getCode()).isEqualTo(CloseStatus.GOING_AWAY.getCode());
+    }
+
+    private void connect(String query) throws Exception {
+        socket = new StandardWebSocketClient().execute(new TextWebSocketHandler() {
+            @Override
+            protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                received.add(message.getPayload());
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+                closed.complete(status);
+            }
+        }, "ws://localhost:" + port + "/ws/conversations?" + query).get(5, TimeUnit.SECONDS);
+    }
+
+    private String send(String payload) throws Exception {
+        socket.sendMessage(new TextMessage(payload));
+        String reply = received.poll(5, TimeUnit.SECONDS);
+        assertThat(reply).as("reply to " + payload).isNotNull();
+        return reply;
+    }
+}
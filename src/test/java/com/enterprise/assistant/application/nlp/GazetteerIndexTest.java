@@ -0,0 +1,111 @@
+package com.enterprise.assistant.application.nlp;
+
+import com.enterprise.assistant.config.GazetteerProperties;
+import com.enterprise.assistant.domain.model.City;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GazetteerIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private GazetteerIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path file = dir.resolve("test.idx");
+        GazetteerIndex.write(List.of(
+                new GazetteerIndex.Entry("ar-santiago-del-estero", "Santiago del Estero", "AR", List.of()),
+                new GazetteerIndex.Entry("cl-santiago", "Santiago de Chile", "CL", List.of("Santiago")),
+                new GazetteerIndex.Entry("ar-salta", "Salta", "AR", List.of()),
+                new GazetteerIndex.Entry("br-sao-paulo", "São Paulo", "BR", List.of("San Pablo"))), file);
+        index = GazetteerIndex.map(file);
+    }
+
+    @Test
+    void findsLongestNameAnywhereInMessage() {
+        assertThat(index.findLongest("Clima en Santiago del Estero mañana").id()).isEqualTo("ar-santiago-del-estero");
+        assertThat(index.findLongest("y en santiago?").id()).isEqualTo("cl-santiago");
+        assertThat(index.findLongest("SANTIAGO   DEL   ESTERO").id()).isEqualTo("ar-santiago-del-estero");
+    }
+
+    @Test
+    void findsNameAtStartOnly() {
+        assertThat(index.findAtStart("  Salta, y mañana Santiago?").id()).isEqualTo("ar-salta");
+        assertThat(index.findAtStart("santiago del estero hoy").id()).isEqualTo("ar-santiago-del-estero");
+        assertThat(index.findAtStart("hoy en Salta")).isNull();
+        assertThat(index.findAtStart("saltamontes")).isNull();
+        assertThat(index.findAtStart("")).isNull();
+    }
+
+    @Test
+    void foldsAccentsAndResolvesAliases() {
+        City city = index.findLongest("temperatura en sao paulo");
+
+        assertThat(city).isEqualTo(new City("br-sao-paulo", "São Paulo", "BR"));
+        assertThat(city.weatherQuery()).isEqualTo("São Paulo,BR");
+        assertThat(index.findLongest("Llueve en San Pablo?").id()).isEqualTo("br-sao-paulo");
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        assertThat(index.findLongest("hay saltamontes")).isNull();
+        assertThat(index.findLongest("resalta el calor")).isNull();
+        assertThat(index.findLongest("salta.")).isNotNull();
+    }
+
+    @Test
+    void findsExactName() {
+        assertThat(index.findExact("  salta ").id()).isEqualTo("ar-salta");
+        assertThat(index.findExact("Salta capital")).isNull();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void reusesIndexBuiltFromSameList() throws IOException {
+        GazetteerProperties properties = new GazetteerProperties();
+        properties.setIndexDir(dir.resolve("cache").toString());
+
+        new CityGazetteer(properties, new DefaultResourceLoader());
+        Path built = onlyIndexFile(dir.resolve("cache"));
+        Files.setLastModifiedTime(built, FileTime.fromMillis(0));
+
+        CityGazetteer reloaded = new CityGazetteer(properties, new DefaultResourceLoader());
+
+        assertThat(onlyIndexFile(dir.resolve("cache"))).isEqualTo(built);
+        assertThat(Files.getLastModifiedTime(built).toMillis()).isZero();
+        assertThat(reloaded.findByName("Buenos Aires")).map(City::id).contains("ar-buenos-aires");
+    }
+
+    @Test
+    void rebuildsCorruptIndex() throws IOException {
+        GazetteerProperties properties = new GazetteerProperties();
+        properties.setIndexDir(dir.resolve("cache").toString());
+        new CityGazetteer(properties, new DefaultResourceLoader());
+        Files.write(onlyIndexFile(dir.resolve("cache")), new byte[]{1, 2, 3});
+
+        CityGazetteer rebuilt = new CityGazetteer(properties, new DefaultResourceLoader());
+
+        assertThat(rebuilt.findInMessage("clima en CABA")).map(City::id).contains("ar-buenos-aires");
+    }
+
+    private Path onlyIndexFile(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> indexes = files.filter(file -> file.toString().endsWith(".idx")).toList();
+            assertThat(indexes).hasSize(1);
+            return indexes.get(0);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.domain.model.MessageRole;
+import com.enterprise.assistant.domain.repository.ArchivedConversationRepository;
+import com.enterprise.assistant.domain.repository.ConversationRepository;
+import com.enterprise.assistant.domain.repository.MessageView;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConversationArchiveIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConversationArchiveService archiveService;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private ArchivedConversationRepository archiveRepository;
+
+    @Test
+    void archivedConversationIsStillReadableThroughHistory() throws Exception {
+        String completed = send(null, "Hola");
+        send(completed, "Ayuda");
+        mockMvc.perform(delete("/api/conversations/{sessionId}", completed)).andExpect(status().isNoContent());
+        String active = send(null, "Sigo acá");
+
+        archiveService.archiveCompletedBefore(LocalDateTime.now().plusMinutes(1), 2);
+
+        assertThat(conversationRepository.findBySessionId(completed)).isEmpty();
+        assertThat(conversationRepository.findBySessionId(active)).isPresent();
+        assertThat(archiveRepository.findBySessionId(completed))
+                .hasValueSatisfying(archived -> assertThat(archived.getMessageCount()).isEqualTo(4));
+
+        String first = history(completed, null, 3);
+        List<String> firstContents = JsonPath.read(first, "$.messages[*].content");
+        assertThat(firstContents).hasSize(3).startsWith("Hola");
+        assertThat(JsonPath.<String>read(first, "$.status")).isEqualTo("COMPLETED");
+
+        String second = history(completed, JsonPath.read(first, "$.nextCursor"), 3);
+        List<String> secondContents = JsonPath.read(second, "$.messages[*].content");
+        assertThat(secondContents).hasSize(1);
+        assertThat(JsonPath.<Object>read(second, "$.nextCursor")).isNull();
+    }
+
+    @Test
+    void eachConversationOfABatchKeepsItsOwnMessages() throws Exception {
+        String first = send(null, "Hola");
+        String second = send(null, "Ayuda");
+        send(second, "Adios");
+        String third = send(null, "Buenas tardes");
+        for (String sessionId : List.of(first, second, third)) {
+            mockMvc.perform(delete("/api/conversations/{sessionId}", sessionId)).andExpect(status().isNoContent());
+        }
+
+        archiveService.archiveCompletedBefore(LocalDateTime.now().plusMinutes(1), 10);
+
+        assertThat(archivedUserMessages(first)).containsExactly("Hola");
+        assertThat(archivedUserMessages(second)).containsExactly("Ayuda", "Adios");
+        assertThat(archivedUserMessages(third)).containsExactly("Buenas tardes");
+    }
+
+    private List<String> archivedUserMessages(String sessionId) {
+        return archiveService.findBySessionId(sessionId).orElseThrow().messages().stream()
+                .filter(message -> message.role() == MessageRole.USER)
+                .map(MessageView::content)
+                .toList();
+    }
+
+    private String history(String sessionId, String cursor, int limit) throws Exception {
+        var request = get("/api/conversations/{sessionId}", sessionId).param("limit", String.valueOf(limit));
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private String send(String sessionId, String message) throws Exception {
+        String body = sessionId == null
+                ? "{\"userId\":\"user123\",\"message\":\"" + message + "\"}"
+                : "{\"sessionId\":\"" + sessionId + "\",\"userId\":\"user123\",\"message\":\"" + message + "\"}";
+
+        String response = mockMvc.perform(post("/api/conversations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return JsonPath.read(response, "$.sessionId");
+    }
+}
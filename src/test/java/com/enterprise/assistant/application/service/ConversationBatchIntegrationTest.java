@@ -0,0 +1,145 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.infrastructure.external.WeatherApiClient;
+import com.enterprise.assistant.infrastructure.external.dto.WeatherResponse;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConversationBatchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private WeatherApiClient weatherApiClient;
+
+    @Test
+    void returnsResultsInInputOrderAndFetchesEachCityOnce() throws Exception {
+        when(weatherApiClient.getCurrentWeather(anyString()))
+                .thenAnswer(invocation -> weatherResponse(invocation.getArgument(0)));
+
+        String response = batch("""
+                {"messages":[
+                  {"userId":"user123","message":"Hola"},
+                  {"userId":"user123"},
+                  {"userId":"user123","message":"Clima en Rosario"},
+                  {"userId":"user456","message":"Temperatura en Rosario"},
+                  {"userId":"user123","message":"Clima en Bariloche"}
+                ]}""");
+
+        assertThat(JsonPath.<List<Integer>>read(response, "$.results[*].index")).containsExactly(0, 1, 2, 3, 4);
+        assertThat(JsonPath.<List<Integer>>read(response, "$.results[*].status")).containsExactly(200, 400, 200, 200, 200);
+        assertThat(JsonPath.<String>read(response, "$.results[0].response.intent")).isEqualTo("GREETING");
+        assertThat(JsonPath.<String>read(response, "$.results[1].error.message")).isEqualTo("Message cannot be empty");
+        assertThat(JsonPath.<List<String>>read(response, "$.results[2,3,4].response.externalServiceUsed"))
+                .containsOnly("OpenWeather");
+        assertThat(JsonPath.<Integer>read(response, "$.succeeded")).isEqualTo(4);
+        assertThat(JsonPath.<Integer>read(response, "$.failed")).isEqualTo(1);
+
+        // Dos mensajes de Rosario, una sola consulta
+        verify(weatherApiClient, times(2)).getCurrentWeather(anyString());
+    }
+
+    @Test
+    void messagesOfOneSessionArePersistedInOrder() throws Exception {
+        String sessionId = JsonPath.read(mockMvc.perform(post("/api/conversations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":\"user123\",\"message\":\"Hola\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), "$.sessionId");
+
+        String response = batch("""
+                {"messages":[
+                  {"sessionId":"%1$s","userId":"user123","message":"Ayuda"},
+                  {"userId":"user456","message":"Hola"},
+                  {"sessionId":"%1$s","userId":"user123","message":"Adios"}
+                ]}""".formatted(sessionId));
+
+        assertThat(JsonPath.<List<String>>read(response, "$.results[0,2].response.sessionId"))
+                .containsExactly(sessionId, sessionId);
+        assertThat(JsonPath.<String>read(response, "$.results[1].response.sessionId")).isNotEqualTo(sessionId);
+
+        String history = mockMvc.perform(get("/api/conversations/{sessionId}", sessionId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(JsonPath.<Integer>read(history, "$.messageCount")).isEqualTo(6);
+        assertThat(JsonPath.<List<String>>read(history, "$.messages[*].role"))
+                .containsExactly("USER", "ASSISTANT", "USER", "ASSISTANT", "USER", "ASSISTANT");
+        assertThat(JsonPath.<List<String>>read(history, "$.messages[?(@.role == 'USER')].content"))
+                .containsExactly("Hola", "Ayuda", "Adios");
+    }
+
+    @Test
+    void messagesOfOneUnknownSessionShareTheNewConversation() throws Exception {
+        String response = batch("""
+                {"messages":[
+                  {"sessionId":"unknown-session","userId":"user123","message":"Hola"},
+                  {"sessionId":"unknown-session","userId":"user123","message":"Ayuda"}
+                ]}""");
+
+        List<String> sessionIds = JsonPath.read(response, "$.results[*].response.sessionId");
+        assertThat(sessionIds).hasSize(2).doesNotContain("unknown-session");
+        assertThat(sessionIds.get(1)).isEqualTo(sessionIds.get(0));
+
+        String history = mockMvc.perform(get("/api/conversations/{sessionId}", sessionIds.get(0)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(JsonPath.<List<String>>read(history, "$.messages[?(@.role == 'USER')].content"))
+                .containsExactly("Hola", "Ayuda");
+    }
+
+    @Test
+    void rejectsBatchOverTheLimit() throws Exception {
+        String messages = String.join(",", Collections.nCopies(101, "{\"userId\":\"user123\",\"message\":\"Hola\"}"));
+
+        mockMvc.perform(post("/api/conversations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"messages\":[" + messages + "]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Batch of 101 messages exceeds the limit of 100"));
+    }
+
+    private String batch(String body) throws Exception {
+        return mockMvc.perform(post("/api/conversations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private WeatherResponse weatherResponse(String city) {
+        WeatherResponse response = new WeatherResponse();
+        response.setName(city);
+
+        WeatherResponse.Main main = new WeatherResponse.Main();
+        main.setTemp(18.0);
+        main.setHumidity(60);
+        response.setMain(main);
+        response.setWeather(List.of());
+
+        return response;
+    }
+}
@@ -0,0 +1,97 @@
+package com.enterprise.assistant.application.service;
+
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Cuenta las sentencias JDBC de un turno: los INSERT de mensajes deben viajar en un solo batch
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConversationBatchingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SessionCache sessionCache;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void existingConversationTurnCostsTwoStatements() throws Exception {
+        // El primer turno también reserva los bloques de ids de las secuencias
+        String sessionId = send(null, "Hola");
+        statistics.clear();
+
+        send(sessionId, "Ayuda");
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2);
+        // La sesión sale del SessionCache: UPDATE del contador de mensajes + INSERT en batch de los dos mensajes
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void existingConversationTurnMissingTheCacheCostsThreeStatements() throws Exception {
+        String sessionId = send(null, "Hola");
+        sessionCache.invalidate(sessionId);
+        statistics.clear();
+
+        send(sessionId, "Ayuda");
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2);
+        // SELECT de la sesión + UPDATE del contador + INSERT en batch de los dos mensajes
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void newConversationTurnCostsTwoStatements() throws Exception {
+        // Hibernate lee la secuencia de conversaciones en las dos primeras del contexto; desde ahí
+        // usa el bloque reservado (allocationSize 50), sin importar el orden de los tests
+        send(null, "Hola");
+        send(null, "Buenas noches");
+        statistics.clear();
+
+        send(null, "Buenas tardes");
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(3);
+        // INSERT de la conversación + INSERT en batch de los dos mensajes
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private String send(String sessionId, String message) throws Exception {
+        String body = sessionId == null
+                ? "{\"userId\":\"user123\",\"message\":\"" + message + "\"}"
+                : "{\"sessionId\":\"" + sessionId + "\",\"userId\":\"user123\",\"message\":\"" + message + "\"}";
+
+        String response = mockMvc.perform(post("/api/conversations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return JsonPath.read(response, "$.sessionId");
+    }
+}
@@ -0,0 +1,110 @@
+package com.enterprise.assistant.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Fetch size chico para que el export cruce varias limpiezas de la sesión
+@SpringBootTest(properties = "app.export.fetch-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConversationExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void streamsConversationsFollowedByTheirMessages() throws Exception {
+        String active = send(null, "Hola");
+        send(active, "Ayuda");
+        String completed = send(null, "Chau");
+        mockMvc.perform(delete("/api/conversations/{sessionId}", completed)).andExpect(status().isNoContent());
+
+        // El contexto puede compartir la base H2 con otros tests: se mira sólo lo creado acá
+        List<JsonNode> completedOnly = export("COMPLETED");
+        assertThat(sessionIds(completedOnly)).contains(completed).doesNotContain(active);
+
+        List<JsonNode> lines = completedOnly.stream()
+                .filter(line -> line.get("sessionId").asText().equals(completed))
+                .toList();
+        assertThat(lines).extracting(line -> line.get("type").asText())
+                .containsExactly("conversation", "message", "message");
+        assertThat(lines.get(0).get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(lines.get(0).has("endedAt")).isTrue();
+        assertThat(lines.get(1).get("content").asText()).isEqualTo("Chau");
+
+        List<JsonNode> all = export(null);
+        List<String> activeMessages = new ArrayList<>();
+        for (JsonNode line : all) {
+            if (line.get("sessionId").asText().equals(active) && line.get("type").asText().equals("message")) {
+                activeMessages.add(line.get("role").asText() + ":" + line.path("content").asText());
+            }
+        }
+        assertThat(activeMessages).hasSize(4).startsWith("USER:Hola");
+        assertThat(activeMessages.get(2)).isEqualTo("USER:Ayuda");
+    }
+
+    private static List<String> sessionIds(List<JsonNode> lines) {
+        return lines.stream().map(line -> line.get("sessionId").asText()).distinct().toList();
+    }
+
+    private List<JsonNode> export(String status) throws Exception {
+        var exportRequest = get("/api/conversations/export");
+        if (status != null) {
+            exportRequest.param("status", status);
+        }
+        MvcResult started = mockMvc.perform(exportRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private String send(String sessionId, String message) throws Exception {
+        String body = sessionId == null
+                ? "{\"userId\":\"user123\",\"message\":\"" + message + "\"}"
+                : "{\"sessionId\":\"" + sessionId + "\",\"userId\":\"user123\",\"message\":\"" + message + "\"}";
+
+        String response = mockMvc.perform(post("/api/conversations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return JsonPath.read(response, "$.sessionId");
+    }
+}
@@ -0,0 +1,104 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.domain.model.Message;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConversationHistoryIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void pagesThroughHistoryWithoutLoadingMessageEntities() throws Exception {
+        String sessionId = send(null, "Hola");
+        send(sessionId, "Ayuda");
+        send(sessionId, "Chau");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        String first = history(sessionId, null, 4);
+        List<String> firstContents = JsonPath.read(first, "$.messages[*].content");
+        String cursor = JsonPath.read(first, "$.nextCursor");
+
+        String second = history(sessionId, cursor, 4);
+        List<String> secondContents = JsonPath.read(second, "$.messages[*].content");
+        List<String> roles = JsonPath.read(second, "$.messages[*].role");
+
+        assertThat(firstContents).hasSize(4).startsWith("Hola");
+        assertThat(firstContents.get(2)).isEqualTo("Ayuda");
+        assertThat(secondContents).hasSize(2).startsWith("Chau");
+        assertThat(roles).containsExactly("USER", "ASSISTANT");
+        assertThat(JsonPath.<Object>read(second, "$.nextCursor")).isNull();
+        assertThat(statistics.getEntityStatistics(Message.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void endingConversationUsesCounterInsteadOfLoadingMessages() throws Exception {
+        String sessionId = send(null, "Hola");
+        send(sessionId, "Ayuda");
+        send(sessionId, "Chau");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(delete("/api/conversations/{sessionId}", sessionId)).andExpect(status().isNoContent());
+
+        assertThat(statistics.getEntityStatistics(Message.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+
+        String page = history(sessionId, null, 2);
+        assertThat(JsonPath.<Integer>read(page, "$.messageCount")).isEqualTo(6);
+        assertThat(JsonPath.<String>read(page, "$.lastMessageAt")).isNotNull();
+    }
+
+    private String history(String sessionId, String cursor, int limit) throws Exception {
+        var request = get("/api/conversations/{sessionId}", sessionId).param("limit", String.valueOf(limit));
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private String send(String sessionId, String message) throws Exception {
+        String body = sessionId == null
+                ? "{\"userId\":\"user123\",\"message\":\"" + message + "\"}"
+                : "{\"sessionId\":\"" + sessionId + "\",\"userId\":\"user123\",\"message\":\"" + message + "\"}";
+
+        String response = mockMvc.perform(post("/api/conversations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return JsonPath.read(response, "$.sessionId");
+    }
+}
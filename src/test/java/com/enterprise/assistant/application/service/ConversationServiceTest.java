@@ -1,34 +1,49 @@
 package com.enterprise.assistant.application.service;
 
+import com.enterprise.assistant.api.dto.ConversationHistoryResponse;
 import com.enterprise.assistant.api.dto.ConversationRequest;
 import com.enterprise.assistant.api.dto.ConversationResponse;
+import com.enterprise.assistant.config.DataSourceRoutingProperties;
+import com.enterprise.assistant.config.SessionCacheProperties;
+import com.enterprise.assistant.config.SessionLockProperties;
+import com.enterprise.assistant.config.ShardingProperties;
+import com.enterprise.assistant.domain.model.City;
 import com.enterprise.assistant.domain.model.Conversation;
 import com.enterprise.assistant.domain.model.ConversationStatus;
 import com.enterprise.assistant.domain.model.Message;
 import com.enterprise.assistant.domain.model.MessageRole;
 import com.enterprise.assistant.domain.repository.ConversationRepository;
 import com.enterprise.assistant.domain.repository.MessageRepository;
-import com.enterprise.assistant.infrastructure.external.WeatherApiClient;
+import com.enterprise.assistant.domain.repository.MessageView;
+import com.enterprise.assistant.infrastructure.datasource.ReadYourWritesTracker;
+import com.enterprise.assistant.infrastructure.journal.MessageJournal;
+import com.enterprise.assistant.infrastructure.sharding.ShardRouter;
 import com.enterprise.assistant.infrastructure.external.dto.WeatherResponse;
 import com.enterprise.assistant.domain.model.Intent;
 import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ConversationServiceTest {
 
+    private static final City BUENOS_AIRES = new City("ar-buenos-aires", "Buenos Aires", "AR");
+
     @Mock
     private ConversationRepository conversationRepository;
 
@@ -39,12 +54,17 @@ class ConversationServiceTest {
     private IntentProcessorService intentProcessorService;
 
     @Mock
-    private WeatherApiClient weatherApiClient;
+    private WeatherService weatherService;
 
     @Mock
     private MetricsService metricsService;
 
-    @InjectMocks
+    @Mock
+    private MessageJournal messageJournal;
+
+    @Mock
+    private ConversationArchiveService archiveService;
+
     private ConversationService conversationService;
 
     private ConversationRequest request;
@@ -53,6 +73,17 @@ class ConversationServiceTest {
 
     @BeforeEach
     void setUp() {
+        SessionCache sessionCache = new SessionCache(new SessionCacheProperties(), conversationRepository,
+                metricsService);
+        ConversationPersistenceService persistenceService =
+                new ConversationPersistenceService(conversationRepository, messageRepository, metricsService,
+                        messageJournal, sessionCache);
+        conversationService = new ConversationService(conversationRepository, messageRepository, persistenceService,
+                sessionCache, new ReadYourWritesTracker(new DataSourceRoutingProperties()),
+                new ShardRouter(new ShardingProperties(), mock(AsyncTaskExecutor.class)), archiveService,
+                new SessionTurnLocks(new SessionLockProperties(), metricsService),
+                intentProcessorService, weatherService, metricsService);
+
         request = ConversationRequest.builder()
                 .userId("user123")
                 .message("Hola")
@@ -93,30 +124,86 @@ class ConversationServiceTest {
 
         when(metricsService.startTimer()).thenReturn(timerSample);
         when(intentProcessorService.detectIntent(anyString())).thenReturn(Intent.WEATHER_QUERY);
-        when(intentProcessorService.extractCity(anyString())).thenReturn("Buenos Aires");
-        when(weatherApiClient.getCurrentWeather("Buenos Aires")).thenReturn(weatherResponse);
+        when(intentProcessorService.resolveCity(anyString())).thenReturn(BUENOS_AIRES);
+        when(weatherService.getCurrentWeather(BUENOS_AIRES)).thenReturn(weatherResponse);
         when(conversationRepository.save(any(Conversation.class))).thenReturn(conversation);
         when(messageRepository.save(any(Message.class))).thenReturn(new Message()).thenReturn(assistantMessage);
 
         ConversationResponse response = conversationService.processMessage(request);
 
         assertThat(response.getExternalServiceUsed()).isEqualTo("OpenWeather");
-        verify(weatherApiClient).getCurrentWeather("Buenos Aires");
+        verify(weatherService).getCurrentWeather(BUENOS_AIRES);
+    }
+
+    @Test
+    void observerHearsIntentAndReplyBeforeTurnIsSaved() {
+        Message assistantMessage = createAssistantMessage("Hola!", Intent.GREETING.name(), null);
+        TurnObserver observer = mock(TurnObserver.class);
+
+        when(metricsService.startTimer()).thenReturn(timerSample);
+        when(intentProcessorService.detectIntent(anyString())).thenReturn(Intent.GREETING);
+        when(conversationRepository.save(any(Conversation.class))).thenReturn(conversation);
+        when(messageRepository.save(any(Message.class))).thenReturn(new Message()).thenReturn(assistantMessage);
+
+        conversationService.processMessage(request, observer);
+
+        InOrder order = inOrder(observer, conversationRepository);
+        order.verify(observer).intentDetected(anyString(), eq(Intent.GREETING));
+        order.verify(observer).replyReady(startsWith("Hola!"), isNull());
+        order.verify(conversationRepository).save(any(Conversation.class));
     }
 
     @Test
     void weatherApiError() {
         when(metricsService.startTimer()).thenReturn(timerSample);
         when(intentProcessorService.detectIntent(anyString())).thenReturn(Intent.WEATHER_QUERY);
-        when(intentProcessorService.extractCity(anyString())).thenReturn("Buenos Aires");
-        when(weatherApiClient.getCurrentWeather(anyString())).thenThrow(new RuntimeException("Error"));
+        when(intentProcessorService.resolveCity(anyString())).thenReturn(BUENOS_AIRES);
+        when(weatherService.getCurrentWeather(any(City.class))).thenThrow(new RuntimeException("Error"));
         when(conversationRepository.save(any(Conversation.class))).thenReturn(conversation);
         when(messageRepository.save(any(Message.class))).thenReturn(new Message());
 
         ConversationResponse response = conversationService.processMessage(request);
 
         assertThat(response).isNotNull();
-        verify(metricsService).recordExternalApiFailure();
+        verify(weatherService).getCurrentWeather(BUENOS_AIRES);
+        verify(messageRepository, times(2)).save(argThat(message ->
+                message.getRole() == MessageRole.USER || message.getContent().startsWith("Lo siento")));
+    }
+
+    @Test
+    void writeBehindJournalsMessagesInsteadOfSaving() {
+        request.setSessionId("test-session-id");
+
+        when(metricsService.startTimer()).thenReturn(timerSample);
+        when(intentProcessorService.detectIntent(anyString())).thenReturn(Intent.GREETING);
+        when(conversationRepository.findBySessionId("test-session-id")).thenReturn(Optional.of(conversation));
+        when(messageJournal.isEnabled()).thenReturn(true);
+        when(messageJournal.append(anyList())).thenReturn(true);
+
+        ConversationResponse response = conversationService.processMessage(request);
+
+        assertThat(response.getSessionId()).isEqualTo("test-session-id");
+        assertThat(response.getIntent()).isEqualTo(Intent.GREETING.name());
+        verify(messageJournal).append(argThat(messages -> messages.size() == 2
+                && messages.get(0).getRole() == MessageRole.USER
+                && messages.get(1).getRole() == MessageRole.ASSISTANT));
+        verifyNoInteractions(messageRepository);
+        verify(conversationRepository, never()).save(any(Conversation.class));
+    }
+
+    @Test
+    void writeBehindFallsBackToSynchronousSave() {
+        request.setSessionId("test-session-id");
+
+        when(metricsService.startTimer()).thenReturn(timerSample);
+        when(intentProcessorService.detectIntent(anyString())).thenReturn(Intent.GREETING);
+        when(conversationRepository.findBySessionId("test-session-id")).thenReturn(Optional.of(conversation));
+        when(messageJournal.isEnabled()).thenReturn(true);
+        when(messageJournal.append(anyList())).thenReturn(false);
+
+        conversationService.processMessage(request);
+
+        verify(messageRepository).saveAll(anyList());
     }
 
     @Test
@@ -129,6 +216,119 @@ class ConversationServiceTest {
         verify(metricsService).decrementActiveConversations();
     }
 
+    @Test
+    void followUpMessagesReuseCachedSession() {
+        request.setSessionId("test-session-id");
+
+        when(metricsService.startTimer()).thenReturn(timerSample);
+        when(intentProcessorService.detectIntent(anyString())).thenReturn(Intent.GREETING);
+        when(conversationRepository.findBySessionId("test-session-id")).thenReturn(Optional.of(conversation));
+        when(messageRepository.save(any(Message.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        conversationService.processMessage(request);
+        ConversationResponse second = conversationService.processMessage(request);
+
+        assertThat(second.getSessionId()).isEqualTo("test-session-id");
+        assertThat(second.isConversationActive()).isTrue();
+        verify(conversationRepository, times(1)).findBySessionId("test-session-id");
+        verify(messageRepository, times(4)).save(argThat(message -> message.getConversation().getId() == 1L));
+        verify(metricsService).recordSessionCacheHit();
+    }
+
+    @Test
+    void endConversationInvalidatesCachedSession() {
+        when(conversationRepository.findBySessionId("test-session-id")).thenReturn(Optional.of(conversation));
+        when(conversationRepository.save(any(Conversation.class))).thenReturn(conversation);
+        when(messageRepository.findFirstPage(eq(1L), any(Limit.class))).thenReturn(List.of());
+
+        conversationService.getConversationHistoryDto("test-session-id", null, null);
+        conversationService.endConversation("test-session-id");
+        ConversationHistoryResponse history = conversationService.getConversationHistoryDto("test-session-id", null, null);
+
+        assertThat(history.getStatus()).isEqualTo(ConversationStatus.COMPLETED);
+        verify(conversationRepository, times(3)).findBySessionId("test-session-id");
+    }
+
+    @Test
+    void historyPageReturnsCursorWhenMoreMessagesExist() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 10, 12, 0);
+        when(conversationRepository.findBySessionId("test-session-id")).thenReturn(Optional.of(conversation));
+        when(messageRepository.findFirstPage(1L, Limit.of(3))).thenReturn(List.of(
+                messageView(10L, MessageRole.USER, start),
+                messageView(11L, MessageRole.ASSISTANT, start.plusSeconds(1)),
+                messageView(12L, MessageRole.USER, start.plusSeconds(2))));
+
+        ConversationHistoryResponse page = conversationService.getConversationHistoryDto("test-session-id", null, 2);
+
+        assertThat(page.getMessages()).extracting(ConversationHistoryResponse.MessageDto::getRole)
+                .containsExactly("USER", "ASSISTANT");
+        assertThat(page.getNextCursor()).isNotNull();
+
+        when(messageRepository.findPageAfter(1L, start.plusSeconds(1), 11L, Limit.of(3)))
+                .thenReturn(List.of(messageView(12L, MessageRole.USER, start.plusSeconds(2))));
+
+        ConversationHistoryResponse next = conversationService.getConversationHistoryDto(
+                "test-session-id", page.getNextCursor(), 2);
+
+        assertThat(next.getMessages()).hasSize(1);
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    @Test
+    void historyRejectsInvalidCursorAndLimit() {
+        when(conversationRepository.findBySessionId("test-session-id")).thenReturn(Optional.of(conversation));
+
+        assertThatThrownBy(() -> conversationService.getConversationHistoryDto("test-session-id", "%%%", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> conversationService.getConversationHistoryDto("test-session-id", null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void historyCapsPageSize() {
+        when(conversationRepository.findBySessionId("test-session-id")).thenReturn(Optional.of(conversation));
+        when(messageRepository.findFirstPage(1L, Limit.of(201))).thenReturn(List.of());
+
+        ConversationHistoryResponse page = conversationService.getConversationHistoryDto("test-session-id", null, 10_000);
+
+        assertThat(page.getMessages()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void historyFallsBackToArchive() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 10, 12, 0);
+        Conversation archived = Conversation.builder()
+                .id(1L)
+                .sessionId("archived-session")
+                .userId("user123")
+                .status(ConversationStatus.COMPLETED)
+                .build();
+        when(conversationRepository.findBySessionId("archived-session")).thenReturn(Optional.empty());
+        when(archiveService.findBySessionId("archived-session")).thenReturn(Optional.of(
+                new ConversationArchiveService.ArchivedHistory(archived, List.of(
+                        messageView(10L, MessageRole.USER, start),
+                        messageView(11L, MessageRole.ASSISTANT, start),
+                        messageView(12L, MessageRole.USER, start.plusSeconds(1))))));
+
+        ConversationHistoryResponse page = conversationService.getConversationHistoryDto("archived-session", null, 2);
+        ConversationHistoryResponse next = conversationService.getConversationHistoryDto(
+                "archived-session", page.getNextCursor(), 2);
+
+        assertThat(page.getStatus()).isEqualTo(ConversationStatus.COMPLETED);
+        assertThat(page.getMessages()).extracting(ConversationHistoryResponse.MessageDto::getContent)
+                .containsExactly("contenido 10", "contenido 11");
+        assertThat(next.getMessages()).extracting(ConversationHistoryResponse.MessageDto::getContent)
+                .containsExactly("contenido 12");
+        assertThat(next.getNextCursor()).isNull();
+        verifyNoInteractions(messageRepository);
+    }
+
+    private MessageView messageView(Long id, MessageRole role, LocalDateTime timestamp) {
+        return new MessageView(id, role, "contenido " + id, null, timestamp, null);
+    }
+
     private Message createAssistantMessage(String content, String intent, String externalService) {
         return Message.builder()
                 .id(1L)
@@ -0,0 +1,96 @@
+package com.enterprise.assistant.application.service;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConversationStreamIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void streamsIntentReplyAndPersistedTurn() throws Exception {
+        Map<String, String> events = stream("{\"userId\":\"user123\",\"message\":\"Hola\"}");
+
+        assertThat(events.keySet()).containsExactly("intent", "reply", "persisted");
+        String sessionId = JsonPath.read(events.get("intent"), "$.sessionId");
+        assertThat(JsonPath.<String>read(events.get("intent"), "$.intent")).isEqualTo("GREETING");
+        assertThat(JsonPath.<String>read(events.get("reply"), "$.message")).startsWith("Hola!");
+        assertThat(JsonPath.<String>read(events.get("persisted"), "$.sessionId")).isEqualTo(sessionId);
+
+        // Cuando llega persisted, el turno ya se puede leer en el historial
+        String history = mockMvc.perform(get("/api/conversations/{sessionId}", sessionId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThat(JsonPath.<List<String>>read(history, "$.messages[*].role")).containsExactly("USER", "ASSISTANT");
+    }
+
+    @Test
+    void followUpStreamAnnouncesExistingSession() throws Exception {
+        String sessionId = JsonPath.read(
+                stream("{\"userId\":\"user123\",\"message\":\"Hola\"}").get("intent"), "$.sessionId");
+
+        Map<String, String> events = stream(
+                "{\"sessionId\":\"" + sessionId + "\",\"userId\":\"user123\",\"message\":\"Ayuda\"}");
+
+        assertThat(JsonPath.<String>read(events.get("intent"), "$.sessionId")).isEqualTo(sessionId);
+        assertThat(JsonPath.<String>read(events.get("intent"), "$.intent")).isEqualTo("HELP");
+        assertThat(JsonPath.<Boolean>read(events.get("persisted"), "$.conversationActive")).isTrue();
+    }
+
+    // Nombre de cada evento con su data, en el orden en que llegaron
+    private Map<String, String> stream(String body) throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/conversations/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String content = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Map<String, String> events = new LinkedHashMap<>();
+        for (String block : content.split("\n\n")) {
+            String name = null;
+            List<String> data = new ArrayList<>();
+            for (String line : block.split("\n")) {
+                if (line.startsWith("event:")) {
+                    name = line.substring("event:".length());
+                } else if (line.startsWith("data:")) {
+                    data.add(line.substring("data:".length()));
+                }
+            }
+            if (name != null) {
+                events.put(name, String.join("\n", data));
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,81 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.infrastructure.external.WeatherApiClient;
+import com.enterprise.assistant.infrastructure.external.dto.WeatherResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConversationTransactionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockitoBean
+    private WeatherApiClient weatherApiClient;
+
+    @Test
+    void noConnectionHeldDuringWeatherCall() throws Exception {
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+        AtomicInteger activeConnections = new AtomicInteger(-1);
+        AtomicBoolean transactionActive = new AtomicBoolean(true);
+
+        when(weatherApiClient.getCurrentWeather(anyString())).thenAnswer(invocation -> {
+            activeConnections.set(hikari.getHikariPoolMXBean().getActiveConnections());
+            transactionActive.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return weatherResponse(invocation.getArgument(0));
+        });
+
+        mockMvc.perform(post("/api/conversations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":\"user123\",\"message\":\"Clima en Ushuaia\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.intent").value("WEATHER_QUERY"))
+                .andExpect(jsonPath("$.externalServiceUsed").value("OpenWeather"))
+                .andExpect(jsonPath("$.conversationActive").value(true));
+
+        assertThat(activeConnections.get()).isZero();
+        assertThat(transactionActive.get()).isFalse();
+    }
+
+    private WeatherResponse weatherResponse(String city) {
+        WeatherResponse response = new WeatherResponse();
+        response.setName(city);
+
+        WeatherResponse.Main main = new WeatherResponse.Main();
+        main.setTemp(4.0);
+        main.setHumidity(80);
+        response.setMain(main);
+
+        WeatherResponse.Weather weather = new WeatherResponse.Weather();
+        weather.setDescription("nubes");
+        response.setWeather(List.of(weather));
+
+        return response;
+    }
+}
@@ -0,0 +1,92 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.domain.model.ConversationStatus;
+import com.enterprise.assistant.domain.repository.ConversationRepository;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sin el hilo periódico: el test corre una pasada a mano
+@SpringBootTest(properties = "app.reaper.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdleConversationReaperIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IdleConversationReaper reaper;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void completesIdleConversationsAndReconcilesGauge() throws Exception {
+        String idle = send(null, "Hola");
+        send(idle, "Ayuda");
+        String recent = send(null, "Hola");
+        jdbcTemplate.update("UPDATE conversations SET last_activity_at = ? WHERE session_id = ?",
+                LocalDateTime.now().minusDays(1), UUID.fromString(idle));
+
+        assertThat(reaper.reap()).isPositive();
+
+        assertThat(conversationRepository.findBySessionId(idle)).hasValueSatisfying(conversation -> {
+            assertThat(conversation.getStatus()).isEqualTo(ConversationStatus.COMPLETED);
+            assertThat(conversation.getEndedAt()).isNotNull();
+        });
+        assertThat(conversationRepository.findBySessionId(recent))
+                .hasValueSatisfying(conversation -> assertThat(conversation.getStatus())
+                        .isEqualTo(ConversationStatus.ACTIVE));
+        assertThat(meterRegistry.get("conversations.active").gauge().value())
+                .isEqualTo((double) conversationRepository.countByStatus(ConversationStatus.ACTIVE));
+    }
+
+    @Test
+    void followUpMessageMovesLastActivity() throws Exception {
+        String sessionId = send(null, "Hola");
+        LocalDateTime old = LocalDateTime.now().minusHours(5);
+        jdbcTemplate.update("UPDATE conversations SET last_activity_at = ? WHERE session_id = ?",
+                old, UUID.fromString(sessionId));
+
+        send(sessionId, "Ayuda");
+
+        assertThat(conversationRepository.findBySessionId(sessionId))
+                .hasValueSatisfying(conversation -> assertThat(conversation.getLastActivityAt()).isAfter(old));
+    }
+
+    private String send(String sessionId, String message) throws Exception {
+        String body = sessionId == null
+                ? "{\"userId\":\"user123\",\"message\":\"" + message + "\"}"
+                : "{\"sessionId\":\"" + sessionId + "\",\"userId\":\"user123\",\"message\":\"" + message + "\"}";
+
+        String response = mockMvc.perform(post("/api/conversations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return JsonPath.read(response, "$.sessionId");
+    }
+}
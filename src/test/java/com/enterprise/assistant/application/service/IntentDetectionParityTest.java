@@ -0,0 +1,132 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.application.nlp.CityGazetteer;
+import com.enterprise.assistant.application.nlp.TextFolding;
+import com.enterprise.assistant.config.WeatherApiProperties;
+import com.enterprise.assistant.domain.model.Intent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// Compara el autómata con las expresiones regulares que usaba detectIntent originalmente
+class IntentDetectionParityTest {
+
+    private static final Pattern WEATHER_PATTERN = Pattern.compile(
+            ".*(clima|temperatura|tiempo|pronóstico|llover|lluvia|frío|calor|grados).*",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern GREETING_PATTERN = Pattern.compile(
+            ".*(hola|buenos días|buenas tardes|buenas noches|saludos|qué tal).*",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern FAREWELL_PATTERN = Pattern.compile(
+            ".*(adiós|chau|hasta luego|nos vemos|bye).*",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern HELP_PATTERN = Pattern.compile(
+            ".*(ayuda|help|qué puedes hacer|cómo funciona|comandos).*",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final List<Pattern> PATTERNS = List.of(
+            GREETING_PATTERN, FAREWELL_PATTERN, HELP_PATTERN, WEATHER_PATTERN);
+
+    // Las mismas expresiones sin tildes, para comparar sobre texto plegado
+    private static final List<Pattern> FOLDED_PATTERNS = PATTERNS.stream()
+            .map(pattern -> Pattern.compile(TextFolding.fold(pattern.pattern()), Pattern.CASE_INSENSITIVE))
+            .toList();
+
+    private static final List<String> KEYWORDS = List.of(
+            "clima", "temperatura", "tiempo", "pronóstico", "llover", "lluvia", "frío", "calor", "grados",
+            "hola", "buenos días", "buenas tardes", "buenas noches", "saludos", "qué tal",
+            "adiós", "chau", "hasta luego", "nos vemos", "bye",
+            "ayuda", "help", "qué puedes hacer", "cómo funciona", "comandos");
+
+    private static final List<String> TEMPLATES = List.of(
+            "%s", "  %s  ", "Oye, %s!", "%s en Córdoba?", "quiero saber: %s", "xx%syy", "¿%s?");
+
+    private IntentProcessorService intentProcessorService;
+
+    @BeforeEach
+    void setUp() {
+        WeatherApiProperties props = new WeatherApiProperties();
+        props.setDefaultCity("Buenos Aires");
+        intentProcessorService = new IntentProcessorService(props, mock(CityGazetteer.class));
+    }
+
+    @Test
+    void matchesLegacyPatternsForSingleKeywords() {
+        for (String keyword : KEYWORDS) {
+            for (String template : TEMPLATES) {
+                assertParity(String.format(template, keyword));
+                assertParity(String.format(template, keyword).toUpperCase());
+            }
+        }
+    }
+
+    @Test
+    void keepsPriorityWhenSeveralIntentsMatch() {
+        for (String first : KEYWORDS) {
+            for (String second : KEYWORDS) {
+                assertParity(first + " y " + second);
+            }
+        }
+    }
+
+    @Test
+    void matchesLegacyPatternsForRandomText() {
+        Random random = new Random(42);
+        String alphabet = "abcdefghijklmnopqrstuvwxyzáéíóúñ ?!,.";
+        List<String> corpus = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder text = new StringBuilder();
+            int length = 1 + random.nextInt(60);
+            for (int j = 0; j < length; j++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            if (random.nextInt(4) == 0) {
+                text.insert(random.nextInt(text.length() + 1), KEYWORDS.get(random.nextInt(KEYWORDS.size())));
+            }
+            corpus.add(text.toString());
+        }
+        // El autómata ignora tildes y espacios repetidos: se compara con las expresiones sobre el texto plegado
+        corpus.forEach(text -> assertThat(intentProcessorService.detectIntent(text))
+                .as("message: '%s'", text)
+                .isEqualTo(legacyDetectIntent(TextFolding.fold(text), FOLDED_PATTERNS)));
+    }
+
+    @Test
+    void acceptsUnaccentedAndSpacedVariants() {
+        assertThat(intentProcessorService.detectIntent("adios")).isEqualTo(Intent.FAREWELL);
+        assertThat(intentProcessorService.detectIntent("Buenos  dias")).isEqualTo(Intent.GREETING);
+        assertThat(intentProcessorService.detectIntent("que puedes hacer")).isEqualTo(Intent.HELP);
+        assertThat(intentProcessorService.detectIntent("pronostico para mañana")).isEqualTo(Intent.WEATHER_QUERY);
+        assertThat(intentProcessorService.detectIntent("Hace FRIO")).isEqualTo(Intent.WEATHER_QUERY);
+    }
+
+    private void assertParity(String message) {
+        assertThat(intentProcessorService.detectIntent(message))
+                .as("message: '%s'", message)
+                .isEqualTo(legacyDetectIntent(message, PATTERNS));
+    }
+
+    private Intent legacyDetectIntent(String message, List<Pattern> patterns) {
+        if (message == null || message.trim().isEmpty()) {
+            return Intent.UNKNOWN;
+        }
+        String msg = message.toLowerCase().trim();
+
+        if (patterns.get(0).matcher(msg).matches()) return Intent.GREETING;
+        if (patterns.get(1).matcher(msg).matches()) return Intent.FAREWELL;
+        if (patterns.get(2).matcher(msg).matches()) return Intent.HELP;
+        if (patterns.get(3).matcher(msg).matches()) return Intent.WEATHER_QUERY;
+
+        return Intent.UNKNOWN;
+    }
+}
@@ -1,9 +1,17 @@
 package com.enterprise.assistant.application.service;
 
+import com.enterprise.assistant.application.nlp.CityGazetteer;
+import com.enterprise.assistant.config.GazetteerProperties;
 import com.enterprise.assistant.config.WeatherApiProperties;
+import com.enterprise.assistant.domain.model.City;
 import com.enterprise.assistant.domain.model.Intent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Path;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -11,11 +19,17 @@ class IntentProcessorServiceTest {
 
     private IntentProcessorService intentProcessorService;
 
+    @TempDir
+    Path indexDir;
+
     @BeforeEach
-    void setUp() {
+    void setUp() throws IOException {
         WeatherApiProperties props = new WeatherApiProperties();
         props.setDefaultCity("Buenos Aires");
-        intentProcessorService = new IntentProcessorService(props);
+        GazetteerProperties gazetteerProperties = new GazetteerProperties();
+        gazetteerProperties.setIndexDir(indexDir.toString());
+        CityGazetteer gazetteer = new CityGazetteer(gazetteerProperties, new DefaultResourceLoader());
+        intentProcessorService = new IntentProcessorService(props, gazetteer);
     }
 
     @Test
@@ -40,4 +54,47 @@ class IntentProcessorServiceTest {
         assertThat(intentProcessorService.extractCity("Clima en Córdoba")).isEqualTo("Córdoba");
         assertThat(intentProcessorService.extractCity("Qué temperatura hace")).isEqualTo("Buenos Aires");
     }
+
+    @Test
+    void resolveCityFromGazetteer() {
+        assertThat(intentProcessorService.resolveCity("que tiempo hace hoy en cordoba?").id()).isEqualTo("ar-cordoba");
+        assertThat(intentProcessorService.resolveCity("Clima en Santiago del Estero").id())
+                .isEqualTo("ar-santiago-del-estero");
+        assertThat(intentProcessorService.resolveCity("Bariloche: va a llover?").name())
+                .isEqualTo("San Carlos de Bariloche");
+        assertThat(intentProcessorService.resolveCity("Qué temperatura hace").id()).isEqualTo("ar-buenos-aires");
+    }
+
+    @Test
+    void unknownCityFallsBackToFreeText() {
+        City city = intentProcessorService.resolveCity("Clima en Gualeguaychú");
+
+        assertThat(city.isResolved()).isFalse();
+        assertThat(city.name()).isEqualTo("Gualeguaychú");
+    }
+
+    @Test
+    void unknownCompoundCityKeepsBothWords() {
+        assertThat(intentProcessorService.extractCity("Clima en San Rafael")).isEqualTo("San Rafael");
+        assertThat(intentProcessorService.extractCity("Temperatura en Santa Cruz?")).isEqualTo("Santa Cruz");
+        assertThat(intentProcessorService.extractCity("Va a llover en La Serena, mañana")).isEqualTo("La Serena");
+    }
+
+    @Test
+    void cityAfterPrepositionWinsOverOtherMentions() {
+        assertThat(intentProcessorService.resolveCity("Salta la lluvia? clima en Rosario").id()).isEqualTo("ar-rosario");
+        assertThat(intentProcessorService.resolveCity("Tengo posadas reservadas, clima en Córdoba").id())
+                .isEqualTo("ar-cordoba");
+        assertThat(intentProcessorService.resolveCity("Clima de hoy en Rosario, no en Salta").id())
+                .isEqualTo("ar-rosario");
+    }
+
+    @Test
+    void gazetteerCityWinsOverFreeTextAfterPreposition() {
+        // "dicen" contiene "en " pero no es la preposición
+        assertThat(intentProcessorService.resolveCity("¿Me dicen el clima de Lima?").id()).isEqualTo("pe-lima");
+        assertThat(intentProcessorService.resolveCity("Dime el clima de Lima en invierno").id()).isEqualTo("pe-lima");
+        assertThat(intentProcessorService.resolveCity("Tengo que viajar en auto a Rosario, ¿qué clima hay?").id())
+                .isEqualTo("ar-rosario");
+    }
 }
@@ -0,0 +1,90 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.config.SessionCacheProperties;
+import com.enterprise.assistant.domain.model.Conversation;
+import com.enterprise.assistant.domain.model.ConversationStatus;
+import com.enterprise.assistant.domain.repository.ConversationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionCacheTest {
+
+    @Mock
+    private ConversationRepository conversationRepository;
+
+    @Mock
+    private MetricsService metricsService;
+
+    private SessionCacheProperties properties;
+    private Conversation conversation;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SessionCacheProperties();
+        conversation = Conversation.builder()
+                .id(1L)
+                .sessionId("session")
+                .userId("user123")
+                .status(ConversationStatus.ACTIVE)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void returnsIndependentCopies() {
+        when(conversationRepository.findBySessionId("session")).thenReturn(Optional.of(conversation));
+        SessionCache cache = new SessionCache(properties, conversationRepository, metricsService);
+
+        Conversation first = cache.findBySessionId("session").orElseThrow();
+        first.setStatus(ConversationStatus.COMPLETED);
+        Conversation second = cache.findBySessionId("session").orElseThrow();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getStatus()).isEqualTo(ConversationStatus.ACTIVE);
+        verify(conversationRepository, times(1)).findBySessionId("session");
+    }
+
+    @Test
+    void putWaitsForCommit() {
+        SessionCache cache = new SessionCache(properties, conversationRepository, metricsService);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.put(conversation);
+        when(conversationRepository.findBySessionId("session")).thenReturn(Optional.empty());
+        assertThat(cache.findBySessionId("session")).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(cache.findBySessionId("session")).map(Conversation::getId).contains(1L);
+    }
+
+    @Test
+    void disabledCacheAlwaysQueriesRepository() {
+        properties.setEnabled(false);
+        when(conversationRepository.findBySessionId("session")).thenReturn(Optional.of(conversation));
+        SessionCache cache = new SessionCache(properties, conversationRepository, metricsService);
+
+        cache.findBySessionId("session");
+        cache.findBySessionId("session");
+
+        verify(conversationRepository, times(2)).findBySessionId("session");
+        verify(metricsService, never()).recordSessionCacheHit();
+    }
+}
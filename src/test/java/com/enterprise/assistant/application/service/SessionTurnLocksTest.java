@@ -0,0 +1,196 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.config.SessionLockProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class SessionTurnLocksTest {
+
+    private final MetricsService metricsService = mock(MetricsService.class);
+    private final SessionLockProperties properties = new SessionLockProperties();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private SessionTurnLocks locks;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMaxQueued(2);
+        properties.setMaxWait(Duration.ofSeconds(5));
+        locks = new SessionTurnLocks(properties, metricsService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void turnsOfSameSessionRunInArrivalOrder() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        Future<?> first = holdSession("s1", release, () -> order.add("first"));
+        Future<?> second = executor.submit(() -> locks.inOrder("s1", () -> order.add("second")));
+        waitFor(() -> locks.queueLength("s1") == 1);
+
+        // El segundo mensaje espera a que termine el primero
+        assertThat(order).isEmpty();
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertThat(order).containsExactly("first", "second");
+        assertThat(locks.activeSessions()).isZero();
+        verify(metricsService, times(2)).recordSessionLockWait(anyLong());
+    }
+
+    @Test
+    void differentSessionsDoNotWaitForEachOther() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> blocked = holdSession("s1", release, () -> { });
+
+        String result = executor.submit(() -> locks.inOrder("s2", () -> "done")).get(1, TimeUnit.SECONDS);
+
+        assertThat(result).isEqualTo("done");
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void rejectsWhenSessionQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> running = holdSession("s1", release, () -> { });
+        Future<?> queued1 = executor.submit(() -> locks.inOrder("s1", () -> true));
+        Future<?> queued2 = executor.submit(() -> locks.inOrder("s1", () -> true));
+        waitFor(() -> locks.queueLength("s1") == 2);
+
+        assertThatThrownBy(() -> locks.inOrder("s1", () -> true))
+                .isInstanceOf(SessionBusyException.class);
+        verify(metricsService).recordSessionLockRejected("queue_full");
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued1.get(5, TimeUnit.SECONDS);
+        queued2.get(5, TimeUnit.SECONDS);
+        assertThat(locks.activeSessions()).isZero();
+    }
+
+    @Test
+    void rejectsWhenPreviousTurnTakesTooLong() throws Exception {
+        properties.setMaxWait(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> running = holdSession("s1", release, () -> { });
+
+        assertThatThrownBy(() -> locks.inOrder("s1", () -> true))
+                .isInstanceOf(SessionBusyException.class);
+        verify(metricsService).recordSessionLockRejected("timeout");
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        assertThat(locks.activeSessions()).isZero();
+    }
+
+    @Test
+    void failedTurnReleasesSession() {
+        assertThatThrownBy(() -> locks.inOrder("s1", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(locks.activeSessions()).isZero();
+        assertThat(locks.inOrder("s1", () -> "next")).isEqualTo("next");
+    }
+
+    @Test
+    void newConversationRunsWithoutLock() {
+        assertThat(locks.inOrder(null, () -> "new")).isEqualTo("new");
+
+        assertThat(locks.activeSessions()).isZero();
+        verify(metricsService, never()).recordSessionLockWait(anyLong());
+    }
+
+    @Test
+    void batchHoldsEverySessionAndReportsBusyOnes() throws Exception {
+        properties.setMaxWait(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> running = holdSession("s2", release, () -> { });
+
+        Set<String> busy = locks.inOrder(List.of("s3", "s1", "s2", "s1"), rejected -> {
+            // s1 y s3 tomadas por el lote, s2 por el turno que la retiene
+            assertThat(locks.activeSessions()).isEqualTo(3);
+            return Set.copyOf(rejected);
+        });
+
+        assertThat(busy).containsExactly("s2");
+        verify(metricsService).recordSessionLockRejected("timeout");
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        assertThat(locks.activeSessions()).isZero();
+    }
+
+    @Test
+    void batchWaitsOnceForAllBusySessions() throws Exception {
+        properties.setMaxWait(Duration.ofMillis(500));
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> first = holdSession("s1", release, () -> { });
+        Future<?> second = holdSession("s2", release, () -> { });
+
+        long start = System.nanoTime();
+        Set<String> busy = locks.inOrder(List.of("s1", "s2", "s3"), Set::copyOf);
+
+        // Un solo plazo para el lote: s2 ya no espera otros 500 ms
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(900);
+        assertThat(busy).containsExactlyInAnyOrder("s1", "s2");
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(locks.activeSessions()).isZero();
+    }
+
+    // Devuelve cuando el turno ya tiene el lock de la sesión y queda esperando a release
+    private Future<?> holdSession(String sessionId, CountDownLatch release, Runnable then)
+            throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Future<?> turn = executor.submit(() -> locks.inOrder(sessionId, () -> {
+            started.countDown();
+            await(release);
+            then.run();
+            return true;
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return turn;
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.infrastructure.sharding.ShardRouter;
+import com.enterprise.assistant.infrastructure.sharding.ShardRoutingDataSource;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Tres H2 independientes como shards; cada conversación debe quedar sólo en el suyo
+@SpringBootTest(properties = {
+        "app.sharding.enabled=true",
+        "app.sharding.initialize-schema=true",
+        "app.sharding.shards[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[0].username=sa",
+        "app.sharding.shards[0].driver-class-name=org.h2.Driver",
+        "app.sharding.shards[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[1].username=sa",
+        "app.sharding.shards[1].driver-class-name=org.h2.Driver",
+        "app.sharding.shards[2].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[2].username=sa",
+        "app.sharding.shards[2].driver-class-name=org.h2.Driver"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ShardedConversationIntegrationTest {
+
+    private static final int SESSIONS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @Test
+    void conversationsLiveOnlyOnTheirShard() throws Exception {
+        List<String> sessions = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            String sessionId = send(null, "Hola");
+            send(sessionId, "Ayuda");
+            sessions.add(sessionId);
+        }
+
+        Set<Long> messageIds = new HashSet<>();
+        for (String sessionId : sessions) {
+            int home = shardRouter.shardFor(sessionId);
+            for (int shard = 0; shard < 3; shard++) {
+                Long found = shard(shard).queryForObject(
+                        "SELECT COUNT(*) FROM conversations WHERE session_id = ?", Long.class, UUID.fromString(sessionId));
+                assertThat(found).as("session %s on shard %d", sessionId, shard).isEqualTo(shard == home ? 1L : 0L);
+            }
+            messageIds.addAll(shard(home).queryForList(
+                    "SELECT m.id FROM messages m JOIN conversations c ON c.id = m.conversation_id"
+                            + " WHERE c.session_id = ?", Long.class, UUID.fromString(sessionId)));
+
+            mockMvc.perform(get("/api/conversations/{sessionId}", sessionId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.messages.length()").value(4));
+        }
+        // Secuencias intercaladas por shard: ningún id se repite entre shards
+        assertThat(messageIds).hasSize(SESSIONS * 4);
+    }
+
+    @Test
+    void exportMergesAllShards() throws Exception {
+        List<String> sessions = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            sessions.add(send(null, "Export " + i));
+        }
+
+        MvcResult started = mockMvc.perform(get("/api/conversations/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<String> order = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            String sessionId = node.get("sessionId").asText();
+            if (node.get("type").asText().equals("conversation")) {
+                assertThat(order).doesNotContain(sessionId);
+                order.add(sessionId);
+            } else {
+                // Los mensajes siguen inmediatamente a su conversación
+                assertThat(order.get(order.size() - 1)).isEqualTo(sessionId);
+            }
+        }
+        assertThat(order).containsAll(sessions);
+    }
+
+    private JdbcTemplate shard(int index) {
+        return new JdbcTemplate(shardRoutingDataSource.shards().get(index));
+    }
+
+    private String send(String sessionId, String message) throws Exception {
+        String body = sessionId == null
+                ? "{\"userId\":\"user123\",\"message\":\"" + message + "\"}"
+                : "{\"sessionId\":\"" + sessionId + "\",\"userId\":\"user123\",\"message\":\"" + message + "\"}";
+
+        String response = mockMvc.perform(post("/api/conversations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return JsonPath.read(response, "$.sessionId");
+    }
+}
@@ -0,0 +1,266 @@
+package com.enterprise.assistant.application.service;
+
+import com.enterprise.assistant.config.WeatherApiProperties;
+import com.enterprise.assistant.config.WeatherCacheProperties;
+import com.enterprise.assistant.domain.model.City;
+import com.enterprise.assistant.infrastructure.external.ExternalServiceException;
+import com.enterprise.assistant.infrastructure.external.WeatherApiClient;
+import com.enterprise.assistant.infrastructure.external.dto.WeatherResponse;
+import com.enterprise.assistant.infrastructure.ratelimit.DistributedRateLimiter;
+import com.enterprise.assistant.infrastructure.ratelimit.RateLimitExceededException;
+import com.enterprise.assistant.infrastructure.ratelimit.RatePriority;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherServiceTest {
+
+    @Mock
+    private WeatherApiClient weatherApiClient;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private DistributedRateLimiter rateLimiter;
+
+    private WeatherApiProperties apiProperties;
+    private WeatherCacheProperties cacheProperties;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @BeforeEach
+    void setUp() {
+        apiProperties = new WeatherApiProperties();
+        apiProperties.setUnits("metric");
+        apiProperties.setLang("es");
+
+        cacheProperties = new WeatherCacheProperties();
+        cacheProperties.setMaxSize(2);
+
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .build());
+    }
+
+    @Test
+    void servesRepeatedCitiesFromCache() {
+        WeatherResponse response = weatherResponse("Córdoba");
+        when(weatherApiClient.getCurrentWeather("Córdoba")).thenReturn(response);
+        WeatherService service = newService();
+
+        assertThat(service.getCurrentWeather("Córdoba")).isSameAs(response);
+        assertThat(service.getCurrentWeather("  cordoba ")).isSameAs(response);
+
+        verify(weatherApiClient, times(1)).getCurrentWeather(anyString());
+        verify(metricsService).recordWeatherCacheMiss();
+        verify(metricsService).recordWeatherCacheHit();
+    }
+
+    @Test
+    void keysResolvedCitiesById() {
+        WeatherResponse response = weatherResponse("Córdoba");
+        when(weatherApiClient.getCurrentWeather("Córdoba,AR")).thenReturn(response);
+        WeatherService service = newService();
+
+        assertThat(service.getCurrentWeather(new City("ar-cordoba", "Córdoba", "AR"))).isSameAs(response);
+        assertThat(service.getCurrentWeather(new City("ar-cordoba", "Cordoba", "AR"))).isSameAs(response);
+        assertThat(service.cacheKey(new City("ar-cordoba", "Córdoba", "AR"))).isEqualTo("ar-cordoba|metric|es");
+
+        verify(weatherApiClient, times(1)).getCurrentWeather(anyString());
+    }
+
+    @Test
+    void servesStaleEntryWhileRefreshing() {
+        cacheProperties.setTtl(Duration.ZERO);
+        WeatherResponse first = weatherResponse("Rosario");
+        WeatherResponse refreshed = weatherResponse("Rosario");
+        when(weatherApiClient.getCurrentWeather("Rosario")).thenReturn(first).thenReturn(refreshed);
+        WeatherService service = newService();
+
+        service.getCurrentWeather("Rosario");
+
+        assertThat(service.getCurrentWeather("Rosario")).isSameAs(first);
+        assertThat(service.getCurrentWeather("Rosario")).isSameAs(refreshed);
+        verify(weatherApiClient, times(3)).getCurrentWeather("Rosario");
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedCity() {
+        when(weatherApiClient.getCurrentWeather(anyString()))
+                .thenAnswer(invocation -> weatherResponse(invocation.getArgument(0)));
+        WeatherService service = newService();
+
+        service.getCurrentWeather("Salta");
+        service.getCurrentWeather("Mendoza");
+        service.getCurrentWeather("Salta");
+        service.getCurrentWeather("Neuquén");
+        service.getCurrentWeather("Salta");
+
+        verify(weatherApiClient, times(1)).getCurrentWeather("Salta");
+        verify(metricsService).recordWeatherCacheEviction();
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        when(weatherApiClient.getCurrentWeather("Lima"))
+                .thenThrow(new ExternalServiceException("Failed to retrieve weather data", null));
+        WeatherService service = newService();
+
+        assertThatThrownBy(() -> service.getCurrentWeather("Lima")).isInstanceOf(ExternalServiceException.class);
+        assertThatThrownBy(() -> service.getCurrentWeather("Lima")).isInstanceOf(ExternalServiceException.class);
+
+        verify(weatherApiClient, times(2)).getCurrentWeather("Lima");
+        verify(metricsService, times(2)).recordExternalApiFailure();
+    }
+
+    @Test
+    void coalescesConcurrentLookupsOfSameCity() throws Exception {
+        WeatherResponse response = weatherResponse("Buenos Aires");
+        CountDownLatch upstreamStarted = new CountDownLatch(1);
+        CountDownLatch releaseUpstream = new CountDownLatch(1);
+        when(weatherApiClient.getCurrentWeather("Buenos Aires")).thenAnswer(invocation -> {
+            upstreamStarted.countDown();
+            releaseUpstream.await();
+            return response;
+        });
+        WeatherService service = newService();
+
+        List<WeatherResponse> results = new CopyOnWriteArrayList<>();
+        Thread leader = new Thread(() -> results.add(service.getCurrentWeather("Buenos Aires")));
+        leader.start();
+        upstreamStarted.await();
+
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread follower = new Thread(() -> results.add(service.getCurrentWeather("buenos aires")));
+            followers.add(follower);
+            follower.start();
+        }
+        for (Thread follower : followers) {
+            while (follower.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+        }
+        releaseUpstream.countDown();
+
+        leader.join();
+        for (Thread follower : followers) {
+            follower.join();
+        }
+
+        assertThat(results).hasSize(5).allSatisfy(result -> assertThat(result).isSameAs(response));
+        verify(weatherApiClient, times(1)).getCurrentWeather(anyString());
+        verify(metricsService).recordCoalescedCallers(5);
+    }
+
+    @Test
+    void coalescedCallersShareFailure() throws Exception {
+        ExternalServiceException failure = new ExternalServiceException("Failed to retrieve weather data", null);
+        CountDownLatch upstreamStarted = new CountDownLatch(1);
+        CountDownLatch releaseUpstream = new CountDownLatch(1);
+        when(weatherApiClient.getCurrentWeather("Lima")).thenAnswer(invocation -> {
+            upstreamStarted.countDown();
+            releaseUpstream.await();
+            throw failure;
+        });
+        WeatherService service = newService();
+
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        Runnable lookup = () -> {
+            try {
+                service.getCurrentWeather("Lima");
+            } catch (RuntimeException e) {
+                errors.add(e);
+            }
+        };
+        Thread leader = new Thread(lookup);
+        leader.start();
+        upstreamStarted.await();
+        Thread follower = new Thread(lookup);
+        follower.start();
+        while (follower.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        releaseUpstream.countDown();
+        leader.join();
+        follower.join();
+
+        assertThat(errors).hasSize(2).allSatisfy(error -> assertThat(error).isSameAs(failure));
+        verify(weatherApiClient, times(1)).getCurrentWeather("Lima");
+    }
+
+    @Test
+    void openCircuitFailsFastAndServesLastCachedWeather() {
+        cacheProperties.setTtl(Duration.ZERO);
+        cacheProperties.setStaleTtl(Duration.ZERO);
+        WeatherResponse rosario = weatherResponse("Rosario");
+        when(weatherApiClient.getCurrentWeather("Rosario")).thenReturn(rosario);
+        when(weatherApiClient.getCurrentWeather("Lima"))
+                .thenThrow(new ExternalServiceException("Failed to retrieve weather data", null));
+        WeatherService service = newService();
+
+        service.getCurrentWeather("Rosario");
+        // El éxito de Rosario solo llena el cache: la ventana del breaker tiene que ver únicamente las fallas
+        circuitBreakerRegistry.circuitBreaker(WeatherService.CIRCUIT_BREAKER_NAME).reset();
+
+        assertThatThrownBy(() -> service.getCurrentWeather("Lima")).isInstanceOf(ExternalServiceException.class);
+        assertThat(service.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThatThrownBy(() -> service.getCurrentWeather("Lima")).isInstanceOf(ExternalServiceException.class);
+        assertThat(service.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThat(service.getCurrentWeather("Rosario")).isSameAs(rosario);
+        assertThatThrownBy(() -> service.getCurrentWeather("Lima")).isInstanceOf(ExternalServiceException.class);
+
+        verify(weatherApiClient, times(1)).getCurrentWeather("Rosario");
+        verify(weatherApiClient, times(2)).getCurrentWeather("Lima");
+        verify(metricsService).recordWeatherCircuitTransition("CLOSED", "OPEN");
+        verify(metricsService).recordWeatherFallback();
+    }
+
+    @Test
+    void rateLimitedLookupServesLastCachedWeather() {
+        cacheProperties.setTtl(Duration.ZERO);
+        cacheProperties.setStaleTtl(Duration.ZERO);
+        WeatherResponse salta = weatherResponse("Salta");
+        when(weatherApiClient.getCurrentWeather("Salta")).thenReturn(salta);
+        WeatherService service = newService();
+
+        service.getCurrentWeather("Salta");
+        doThrow(new RateLimitExceededException("Timed out waiting for a weather API token"))
+                .when(rateLimiter).acquire(RatePriority.INTERACTIVE);
+
+        assertThat(service.getCurrentWeather("Salta")).isSameAs(salta);
+        assertThatThrownBy(() -> service.getCurrentWeather("Jujuy")).isInstanceOf(RateLimitExceededException.class);
+        verify(weatherApiClient, times(1)).getCurrentWeather(anyString());
+    }
+
+    private WeatherService newService() {
+        return new WeatherService(weatherApiClient, apiProperties, cacheProperties, metricsService,
+                circuitBreakerRegistry, rateLimiter, Runnable::run);
+    }
+
+    private WeatherResponse weatherResponse(String city) {
+        WeatherResponse response = new WeatherResponse();
+        response.setName(city);
+        return response;
+    }
+}
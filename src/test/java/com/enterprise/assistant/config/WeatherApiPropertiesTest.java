@@ -0,0 +1,57 @@
+package com.enterprise.assistant.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeatherApiPropertiesTest {
+
+    @Test
+    void connectAndReadTimeoutsFallBackToProfileTimeout() throws IOException {
+        WeatherApiProperties properties = bind("application-prod.yml", "application.yml");
+
+        assertThat(properties.getConnectTimeout()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(properties.getReadTimeout()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void explicitHttpTimeoutsWinOverTimeout() {
+        WeatherApiProperties properties = new WeatherApiProperties();
+        properties.setTimeout(10000);
+        properties.getHttp().setReadTimeout(Duration.ofSeconds(3));
+
+        assertThat(properties.getConnectTimeout()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(properties.getReadTimeout()).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void timeoutsHaveDefaultsWhenNothingIsConfigured() {
+        WeatherApiProperties properties = new WeatherApiProperties();
+
+        assertThat(properties.getConnectTimeout()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(properties.getReadTimeout()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    // Los archivos van en orden de precedencia, como los agrega Spring Boot al activar un perfil
+    private static WeatherApiProperties bind(String... files) throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        YamlPropertySourceLoader loader = new YamlPropertySourceLoader();
+        for (String file : files) {
+            for (PropertySource<?> source : loader.load(file, new ClassPathResource(file))) {
+                environment.getPropertySources().addLast(source);
+            }
+        }
+        return new Binder(ConfigurationPropertySources.get(environment))
+                .bind("external.weather.api", WeatherApiProperties.class)
+                .get();
+    }
+}
@@ -0,0 +1,48 @@
+package com.enterprise.assistant.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SessionIdsTest {
+
+    @Test
+    void generatesVersion7Uuids() {
+        UUID uuid = SessionIds.newUuid();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16)
+                .isCloseTo(System.currentTimeMillis(), within(5_000L));
+        assertThat(UUID.fromString(SessionIds.newSessionId()).toString()).hasSize(36);
+    }
+
+    @Test
+    void idsFromLaterMillisecondsSortAfter() throws InterruptedException {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(SessionIds.newSessionId());
+            Thread.sleep(2);
+        }
+
+        assertThat(ids).isSorted();
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+    }
+
+    @Test
+    void converterKeepsUuidsAndMapsOtherValuesToUnusedVersion() {
+        SessionIdConverter converter = new SessionIdConverter();
+        String sessionId = SessionIds.newSessionId();
+
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(sessionId)))
+                .isEqualTo(sessionId);
+        assertThat(converter.convertToDatabaseColumn("not-a-uuid").version()).isEqualTo(3);
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+    }
+}
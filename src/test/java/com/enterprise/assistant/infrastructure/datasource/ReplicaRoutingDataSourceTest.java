@@ -0,0 +1,113 @@
+package com.enterprise.assistant.infrastructure.datasource;
+
+import com.enterprise.assistant.application.service.MetricsService;
+import com.enterprise.assistant.config.DataSourceRoutingProperties;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+// Dos H2 en memoria; cada una sabe su nombre para verificar a cuál fue la consulta
+class ReplicaRoutingDataSourceTest {
+
+    private final MetricsService metricsService = mock(MetricsService.class);
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(new DataSourceRoutingProperties());
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("routing-primary");
+        replica = h2("routing-replica");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        routing.close();
+        for (DataSource dataSource : List.of(primary, replica)) {
+            new JdbcTemplate(dataSource).execute("DROP TABLE node");
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        start(List.of(replica));
+
+        assertThat(nodeInTransaction(true, null)).isEqualTo("routing-replica");
+        assertThat(nodeInTransaction(false, null)).isEqualTo("routing-primary");
+    }
+
+    @Test
+    void recentlyWrittenSessionReadsFromPrimary() {
+        start(List.of(replica));
+        tracker.recordWrite("session-a");
+
+        assertThat(nodeInTransaction(true, "session-a")).isEqualTo("routing-primary");
+        assertThat(nodeInTransaction(true, "session-b")).isEqualTo("routing-replica");
+    }
+
+    @Test
+    void fallsBackToPrimaryWhileReplicaIsDown() throws SQLException {
+        DataSource broken = mock(DataSource.class);
+        when(broken.getConnection()).thenThrow(new SQLException("connection refused"));
+        start(List.of(broken));
+
+        assertThat(nodeInTransaction(true, null)).isEqualTo("routing-primary");
+        assertThat(nodeInTransaction(true, null)).isEqualTo("routing-primary");
+
+        // Marcada caída en el primer intento: el segundo request ya no la prueba
+        verify(broken, times(1)).getConnection();
+        verify(metricsService, times(2)).recordReplicaFallback();
+    }
+
+    @Test
+    void healthCheckRestoresReplica() throws SQLException {
+        DataSource flaky = spy(replica);
+        doThrow(new SQLException("connection refused")).doCallRealMethod().when(flaky).getConnection();
+        start(List.of(flaky));
+
+        assertThat(nodeInTransaction(true, null)).isEqualTo("routing-primary");
+        routing.checkHealth();
+        assertThat(nodeInTransaction(true, null)).isEqualTo("routing-replica");
+    }
+
+    private void start(List<DataSource> replicas) {
+        routing = new ReplicaRoutingDataSource(primary, replicas, Duration.ofHours(1), metricsService);
+    }
+
+    private String nodeInTransaction(boolean readOnly, String sessionId) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> {
+            if (sessionId != null) {
+                tracker.routeReadsFor(sessionId);
+            }
+            return new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class);
+        });
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(50))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,100 @@
+package com.enterprise.assistant.infrastructure.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedAppendLogTest {
+
+    private static final int SEGMENT_SIZE = 64;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoversRecordsAfterRestart() throws IOException {
+        MappedAppendLog log = open();
+        log.append(bytes("uno"));
+        log.append(bytes("dos"));
+
+        assertThat(payloads(recoverAll())).containsExactly("uno", "dos");
+    }
+
+    @Test
+    void skipsRecordsBeforeCheckpoint() throws IOException {
+        MappedAppendLog log = open();
+        MappedAppendLog.Position first = log.append(bytes("uno"));
+        log.append(bytes("dos"));
+        log.checkpoint(first);
+
+        assertThat(payloads(recoverAll())).containsExactly("dos");
+    }
+
+    @Test
+    void rollsSegmentsAndDeletesFlushedOnes() throws IOException {
+        MappedAppendLog log = open();
+        MappedAppendLog.Position last = null;
+        for (int i = 0; i < 10; i++) {
+            last = log.append(bytes("mensaje-" + i));
+        }
+        assertThat(segmentCount()).isGreaterThan(2);
+
+        assertThat(recoverAll()).hasSize(10);
+
+        log.checkpoint(last);
+        assertThat(segmentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void stopsAtCorruptedRecord() throws IOException {
+        MappedAppendLog log = open();
+        log.append(bytes("uno"));
+        MappedAppendLog.Position second = log.append(bytes("dos"));
+        log.force();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(file -> file.toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(second.offset() - 1);
+            file.write('X');
+        }
+
+        assertThat(payloads(recoverAll())).containsExactly("uno");
+    }
+
+    private MappedAppendLog open() throws IOException {
+        MappedAppendLog log = new MappedAppendLog(dir, SEGMENT_SIZE);
+        log.recover();
+        return log;
+    }
+
+    // Simula un reinicio: otra instancia sobre el mismo directorio
+    private List<MappedAppendLog.Recovered> recoverAll() throws IOException {
+        return new MappedAppendLog(dir, SEGMENT_SIZE).recover();
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(".log")).count();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> payloads(List<MappedAppendLog.Recovered> recovered) {
+        return recovered.stream().map(record -> new String(record.payload(), StandardCharsets.UTF_8)).toList();
+    }
+}
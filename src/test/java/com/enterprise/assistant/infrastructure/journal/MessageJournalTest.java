@@ -0,0 +1,157 @@
+package com.enterprise.assistant.infrastructure.journal;
+
+import com.enterprise.assistant.application.service.MetricsService;
+import com.enterprise.assistant.config.JournalProperties;
+import com.enterprise.assistant.domain.model.Conversation;
+import com.enterprise.assistant.domain.model.Message;
+import com.enterprise.assistant.domain.model.MessageRole;
+import com.enterprise.assistant.domain.repository.ConversationRepository;
+import com.enterprise.assistant.domain.repository.MessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MessageJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private ConversationRepository conversationRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private MetricsService metricsService;
+
+    private final List<MessageJournal> journals = new ArrayList<>();
+    private Conversation conversation;
+
+    @BeforeEach
+    void setUp() {
+        conversation = Conversation.builder().id(7L).sessionId("session").userId("user123").build();
+        when(conversationRepository.getReferenceById(anyLong())).thenReturn(conversation);
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        journals.forEach(MessageJournal::stop);
+    }
+
+    @Test
+    void flushesJournaledTurnsInOneBatch() {
+        MessageJournal journal = start(10_000);
+
+        assertThat(journal.append(turn("Hola"))).isTrue();
+        assertThat(journal.append(turn("Clima en Salta"))).isTrue();
+        journal.flushSafely();
+
+        List<Message> saved = captureSaved(1).get(0);
+        assertThat(saved).hasSize(4);
+        assertThat(saved).extracting(Message::getContent)
+                .containsExactly("Hola", "respuesta", "Clima en Salta", "respuesta");
+        assertThat(saved.get(0).getConversation()).isSameAs(conversation);
+    }
+
+    @Test
+    void replaysUnflushedTurnsAfterRestart() {
+        doThrow(new DataAccessResourceFailureException("database down")).when(messageRepository).saveAll(anyList());
+        MessageJournal crashed = start(10_000);
+        crashed.append(turn("Hola"));
+        crashed.flushSafely();
+
+        reset(messageRepository);
+        MessageJournal restarted = start(10_000);
+        restarted.flushSafely();
+
+        List<Message> saved = captureSaved(1).get(0);
+        assertThat(saved).extracting(Message::getRole).containsExactly(MessageRole.USER, MessageRole.ASSISTANT);
+        assertThat(saved.get(0).getContent()).isEqualTo("Hola");
+    }
+
+    @Test
+    void drainsOnStop() {
+        MessageJournal journal = start(10_000);
+        journal.append(turn("Hola"));
+
+        journal.stop();
+
+        verify(messageRepository).saveAll(anyList());
+        assertThat(journal.isEnabled()).isFalse();
+        assertThat(journal.append(turn("Chau"))).isFalse();
+    }
+
+    @Test
+    void rejectsTurnsBeyondMaxPending() {
+        MessageJournal journal = start(3);
+
+        assertThat(journal.append(turn("Hola"))).isTrue();
+        assertThat(journal.append(turn("Ayuda"))).isFalse();
+
+        verify(metricsService).recordJournalFallback("backlog");
+    }
+
+    private MessageJournal start(int maxPending) {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(dir.toString());
+        // El hilo de fondo no llega a correr durante el test; los volcados se disparan a mano
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setMaxPending(maxPending);
+
+        MessageJournal journal = new MessageJournal(properties, conversationRepository, messageRepository,
+                transactionTemplate, metricsService);
+        journal.start();
+        journals.add(journal);
+        return journal;
+    }
+
+    private List<Message> turn(String userContent) {
+        return List.of(
+                Message.builder().conversation(conversation).role(MessageRole.USER)
+                        .content(userContent).timestamp(LocalDateTime.now()).build(),
+                Message.builder().conversation(conversation).role(MessageRole.ASSISTANT)
+                        .content("respuesta").intent("GREETING").timestamp(LocalDateTime.now()).build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Message>> captureSaved(int times) {
+        ArgumentCaptor<List<Message>> captor = ArgumentCaptor.forClass(List.class);
+        verify(messageRepository, times(times)).saveAll(captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,93 @@
+package com.enterprise.assistant.infrastructure.ratelimit;
+
+import com.enterprise.assistant.ConversationalAssistantApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Varias instancias de la aplicación comparten el mismo H2 y por lo tanto el mismo cupo
+class DistributedRateLimiterIntegrationTest {
+
+    private static final int CAPACITY = 12;
+    private static final int NODES = 3;
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void startNodes() {
+        for (int i = 0; i < NODES; i++) {
+            // Como argumentos: SpringApplicationBuilder.properties() solo fija valores por defecto,
+            // que application.yml y application-test.yml pisarían
+            nodes.add(new SpringApplicationBuilder(ConversationalAssistantApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .profiles("test")
+                    .run(
+                            "--spring.datasource.url=jdbc:h2:mem:ratelimit;DB_CLOSE_DELAY=-1",
+                            "--spring.jpa.hibernate.ddl-auto=update",
+                            "--app.rate-limit.weather.capacity=" + CAPACITY,
+                            "--app.rate-limit.weather.refill-period=1h",
+                            "--app.rate-limit.weather.lease-size=3",
+                            "--app.rate-limit.weather.max-wait=200ms"));
+        }
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void nodesShareOneBudget() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(NODES * 4);
+        try {
+            List<Future<Boolean>> attempts = new ArrayList<>();
+            for (int round = 0; round < CAPACITY; round++) {
+                for (ConfigurableApplicationContext node : nodes) {
+                    DistributedRateLimiter limiter = node.getBean(DistributedRateLimiter.class);
+                    attempts.add(executor.submit(acquire(limiter)));
+                }
+            }
+
+            int granted = 0;
+            for (Future<Boolean> attempt : attempts) {
+                if (attempt.get()) {
+                    granted++;
+                }
+            }
+
+            assertThat(granted).isEqualTo(CAPACITY);
+            // Todas las instancias leen el mismo bucket, ya vacío
+            for (ConfigurableApplicationContext node : nodes) {
+                Double tokens = node.getBean(JdbcTemplate.class).queryForObject(
+                        "SELECT tokens FROM rate_limit_buckets", Double.class);
+                assertThat(tokens).isLessThan(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<Boolean> acquire(DistributedRateLimiter limiter) {
+        return () -> {
+            try {
+                limiter.acquire(RatePriority.INTERACTIVE);
+                return true;
+            } catch (RateLimitExceededException e) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.enterprise.assistant.infrastructure.ratelimit;
+
+import com.enterprise.assistant.application.service.MetricsService;
+import com.enterprise.assistant.config.RateLimitProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DistributedRateLimiterTest {
+
+    private final TokenBucketStore store = mock(TokenBucketStore.class);
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // Tokens que el bucket compartido entrega en el próximo lease
+    private final AtomicInteger available = new AtomicInteger();
+
+    private DistributedRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties.setLeaseSize(1);
+        properties.setMaxWait(Duration.ofSeconds(5));
+        when(store.lease(anyString(), anyInt(), anyInt(), any())).thenAnswer(invocation ->
+                available.getAndUpdate(tokens -> Math.max(0, tokens - 1)) > 0
+                        ? new TokenLease(1, Duration.ZERO)
+                        : new TokenLease(0, Duration.ofMillis(20)));
+        limiter = new DistributedRateLimiter(store, properties, mock(MetricsService.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void interactiveWaitersGoFirstAndEqualPrioritiesKeepArrivalOrder() throws Exception {
+        List<String> served = new CopyOnWriteArrayList<>();
+        Future<?> background1 = enqueue("background-1", RatePriority.BACKGROUND, served, 1);
+        Future<?> background2 = enqueue("background-2", RatePriority.BACKGROUND, served, 2);
+        Future<?> interactive1 = enqueue("interactive-1", RatePriority.INTERACTIVE, served, 3);
+        Future<?> interactive2 = enqueue("interactive-2", RatePriority.INTERACTIVE, served, 4);
+
+        // Un token por vez: cada uno va al primero de la cola
+        for (int i = 1; i <= 4; i++) {
+            available.set(1);
+            int expected = i;
+            waitFor(() -> served.size() == expected);
+        }
+
+        assertThat(served).containsExactly("interactive-1", "interactive-2", "background-1", "background-2");
+        for (Future<?> waiter : List.of(background1, background2, interactive1, interactive2)) {
+            waiter.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(limiter.queueDepth()).isZero();
+    }
+
+    // Devuelve cuando el llamador ya está en la cola, detrás de los anteriores
+    private Future<?> enqueue(String name, RatePriority priority, List<String> served, int depth)
+            throws InterruptedException {
+        Future<?> waiter = executor.submit(() -> {
+            limiter.acquire(priority);
+            served.add(name);
+        });
+        waitFor(() -> limiter.queueDepth() == depth);
+        return waiter;
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.enterprise.assistant.infrastructure.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JumpConsistentHashTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    void spreadsKeysEvenly() {
+        int[] counts = new int[8];
+        for (int i = 0; i < KEYS; i++) {
+            counts[JumpConsistentHash.shard(UUID.randomUUID().toString(), counts.length)]++;
+        }
+        for (int count : counts) {
+            assertThat(count).isBetween(KEYS / 8 * 8 / 10, KEYS / 8 * 12 / 10);
+        }
+    }
+
+    @Test
+    void growingOnlyMovesKeysToNewShards() {
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "session-" + i;
+            int before = JumpConsistentHash.shard(key, 4);
+            int after = JumpConsistentHash.shard(key, 5);
+            if (before != after) {
+                assertThat(after).isEqualTo(4);
+                moved++;
+            }
+        }
+        // Con 5 shards al nuevo le toca ~1/5 de las claves
+        assertThat(moved).isBetween(KEYS / 5 * 8 / 10, KEYS / 5 * 12 / 10);
+    }
+
+    @Test
+    void isStableForTheSameKey() {
+        assertThat(JumpConsistentHash.shard("abc", 16)).isEqualTo(JumpConsistentHash.shard("abc", 16));
+        assertThat(JumpConsistentHash.shard("abc", 1)).isZero();
+    }
+
+    @Test
+    void rejectsEmptyBucketCount() {
+        assertThatThrownBy(() -> JumpConsistentHash.shard("abc", 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
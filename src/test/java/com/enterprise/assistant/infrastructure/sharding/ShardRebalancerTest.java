@@ -0,0 +1,109 @@
+package com.enterprise.assistant.infrastructure.sharding;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Esquema mínimo: el rebalanceo copia por nombre de columna y no depende de las entidades
+class ShardRebalancerTest {
+
+    private static final int CONVERSATIONS = 200;
+
+    private final List<DataSource> shards = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            shards.add(h2("rebalance-" + i));
+        }
+        for (int id = 1; id <= CONVERSATIONS; id++) {
+            String sessionId = "session-" + id;
+            JdbcTemplate jdbc = jdbc(JumpConsistentHash.shard(sessionId, 2));
+            jdbc.update("INSERT INTO conversations (id, session_id) VALUES (?, ?)", id, sessionId);
+            jdbc.update("INSERT INTO messages (id, conversation_id, content) VALUES (?, ?, ?)", id * 10, id, "a");
+            jdbc.update("INSERT INTO messages (id, conversation_id, content) VALUES (?, ?, ?)", id * 10 + 1, id, "b");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (int i = 0; i < shards.size(); i++) {
+            jdbc(i).execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Test
+    void movesConversationsToTheirNewShard() {
+        long moved = new ShardRebalancer(shards).rebalance(2, 3);
+
+        assertThat(moved).isEqualTo(count(2, "conversations")).isPositive();
+        for (int i = 0; i < shards.size(); i++) {
+            for (String sessionId : jdbc(i).queryForList("SELECT session_id FROM conversations", String.class)) {
+                assertThat(JumpConsistentHash.shard(sessionId, 3)).isEqualTo(i);
+            }
+        }
+        assertThat(count(0, "conversations") + count(1, "conversations") + count(2, "conversations"))
+                .isEqualTo(CONVERSATIONS);
+        assertThat(count(2, "messages")).isEqualTo(2 * moved);
+        assertThat(count(0, "messages") + count(1, "messages") + count(2, "messages"))
+                .isEqualTo(2L * CONVERSATIONS);
+    }
+
+    @Test
+    void resumesAfterCopyWithoutDelete() {
+        // Simula un corte entre la copia y el borrado: la conversación está en ambos shards
+        String sessionId = firstSessionMovingFrom(0);
+        JdbcTemplate source = jdbc(0);
+        Long id = source.queryForObject("SELECT id FROM conversations WHERE session_id = ?", Long.class, sessionId);
+        jdbc(2).update("INSERT INTO conversations (id, session_id) VALUES (?, ?)", id, sessionId);
+
+        new ShardRebalancer(shards).rebalance(2, 3);
+
+        assertThat(jdbc(2).queryForObject("SELECT COUNT(*) FROM conversations WHERE id = ?", Long.class, id))
+                .isEqualTo(1L);
+        assertThat(source.queryForObject("SELECT COUNT(*) FROM conversations WHERE id = ?", Long.class, id))
+                .isZero();
+    }
+
+    @Test
+    void rejectsShrinking() {
+        assertThatThrownBy(() -> new ShardRebalancer(shards).rebalance(3, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String firstSessionMovingFrom(int shard) {
+        return jdbc(shard).queryForList("SELECT session_id FROM conversations ORDER BY id", String.class).stream()
+                .filter(sessionId -> JumpConsistentHash.shard(sessionId, 3) == 2)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private long count(int shard, String table) {
+        return jdbc(shard).queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shards.get(shard));
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE conversations (id BIGINT PRIMARY KEY, session_id VARCHAR(100))");
+        jdbc.execute("CREATE TABLE messages (id BIGINT PRIMARY KEY, conversation_id BIGINT"
+                + " REFERENCES conversations (id), content VARCHAR(100))");
+        jdbc.execute("CREATE TABLE conversation_archive (id BIGINT PRIMARY KEY, session_id VARCHAR(100))");
+        return dataSource;
+    }
+}
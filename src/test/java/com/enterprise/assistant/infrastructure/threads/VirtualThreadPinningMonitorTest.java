@@ -0,0 +1,69 @@
+package com.enterprise.assistant.infrastructure.threads;
+
+import com.enterprise.assistant.application.service.MetricsService;
+import com.enterprise.assistant.config.VirtualThreadProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final MetricsService metricsService = mock(MetricsService.class);
+    private final Object monitor = new Object();
+
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @AfterEach
+    void tearDown() {
+        if (pinningMonitor != null) {
+            pinningMonitor.stop();
+        }
+    }
+
+    @Test
+    void reportsSleepInsideSynchronizedBlock() throws Exception {
+        // Desde Java 24 (JEP 491) synchronized ya no fija el hilo virtual
+        assumeTrue(Runtime.version().feature() < 24);
+        start(true);
+
+        Thread.ofVirtual().start(this::sleepHoldingMonitor).join();
+
+        verify(metricsService, timeout(10_000)).recordVirtualThreadPinned(
+                argThat(location -> location.startsWith("infrastructure.threads.VirtualThreadPinningMonitorTest")),
+                any(Duration.class));
+    }
+
+    @Test
+    void staysOffWithPlatformThreads() {
+        start(false);
+
+        assertThat(pinningMonitor.isRunning()).isFalse();
+    }
+
+    private void start(boolean virtualThreads) {
+        VirtualThreadProperties properties = new VirtualThreadProperties();
+        properties.setPinningThreshold(Duration.ofMillis(10));
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", String.valueOf(virtualThreads));
+        pinningMonitor = new VirtualThreadPinningMonitor(properties, metricsService, environment);
+        pinningMonitor.start();
+    }
+
+    private void sleepHoldingMonitor() {
+        synchronized (monitor) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}